@@ -33,6 +33,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.VisibleForTesting;
 
 import org.eclipse.uprotocol.core.internal.rpc.RpcExecutor;
+import org.eclipse.uprotocol.core.internal.util.ShardedExecutor;
 import org.eclipse.uprotocol.core.ubus.UBus;
 import org.eclipse.uprotocol.transport.UListener;
 import org.eclipse.uprotocol.v1.UEntity;
@@ -40,10 +41,14 @@ import org.eclipse.uprotocol.v1.UMessage;
 import org.eclipse.uprotocol.v1.UStatus;
 import org.eclipse.uprotocol.v1.UUri;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class MessageHandler implements UListener {
     private final UBus mUBus;
@@ -69,6 +74,17 @@ public class MessageHandler implements UListener {
         return mRpcExecutor;
     }
 
+    public @NonNull List<Integer> getQueueSizes() {
+        if (mExecutor instanceof ShardedExecutor executor) {
+            return IntStream.range(0, executor.getShardCount())
+                    .mapToObj(executor::getQueueSize)
+                    .collect(Collectors.toList());
+        } else if (mExecutor instanceof ThreadPoolExecutor executor) {
+            return List.of(executor.getQueue().size());
+        }
+        return List.of();
+    }
+
     public boolean registerListener(@NonNull UUri uri, @NonNull UListener listener) {
         return isRpcMethod(uri) ? registerRequestListener(uri, listener) : registerGenericListener(uri, listener);
     }
@@ -156,7 +172,7 @@ public class MessageHandler implements UListener {
         final UUri uri = message.getAttributes().getSource();
         final Set<UListener> listeners = mGenericListeners.get(uri);
         if (listeners != null) {
-            mExecutor.execute(() -> listeners.forEach(listener -> listener.onReceive(message)));
+            execute(uri, () -> listeners.forEach(listener -> listener.onReceive(message)));
         }
     }
 
@@ -168,6 +184,16 @@ public class MessageHandler implements UListener {
         }
     }
 
+    // Messages of a topic must be handled in order. A sharded executor keeps them on one shard, while the
+    // direct (UBus) and single-threaded (USubscription) executors already run tasks in submission order.
+    private void execute(@NonNull UUri uri, @NonNull Runnable task) {
+        if (mExecutor instanceof ShardedExecutor executor) {
+            executor.execute(uri, task);
+        } else {
+            mExecutor.execute(task);
+        }
+    }
+
     private void handleResponseMessage(@NonNull UMessage message) {
         mRpcExecutor.onReceive(message);
     }
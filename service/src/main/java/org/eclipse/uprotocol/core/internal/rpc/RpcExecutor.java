@@ -29,6 +29,8 @@ import androidx.annotation.NonNull;
 import androidx.annotation.VisibleForTesting;
 
 import org.eclipse.uprotocol.common.UStatusException;
+import org.eclipse.uprotocol.core.internal.util.HashedWheelTimer;
+import org.eclipse.uprotocol.core.internal.util.HashedWheelTimer.Timeout;
 import org.eclipse.uprotocol.core.ubus.UBus;
 import org.eclipse.uprotocol.rpc.RpcClient;
 import org.eclipse.uprotocol.transport.UListener;
@@ -45,17 +47,28 @@ import org.eclipse.uprotocol.v1.UStatus;
 import org.eclipse.uprotocol.v1.UUID;
 import org.eclipse.uprotocol.v1.UUri;
 
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class RpcExecutor implements RpcClient, UListener {
     private static final RpcExecutor EMPTY = new Empty();
+    private static final int SEND_THREAD_COUNT = 2;
+    private static final int SEND_QUEUE_CAPACITY = 1000;
+    private static final Executor SEND_EXECUTOR = newSendExecutor();
 
     private final UBus mUBus;
     private final UUri mResponseUri;
     private final IBinder mClientToken;
+    private final Executor mExecutor;
     private final Map<UUID, CompletableFuture<UMessage>> mRequests = new ConcurrentHashMap<>();
 
     public static RpcExecutor empty() {
@@ -66,15 +79,35 @@ public class RpcExecutor implements RpcClient, UListener {
         mUBus = null;
         mResponseUri = UUri.getDefaultInstance();
         mClientToken = null;
+        mExecutor = Runnable::run;
     }
 
     public RpcExecutor(@NonNull UBus uBus, @NonNull UEntity entity, @NonNull IBinder clientToken) {
+        this(uBus, entity, clientToken, SEND_EXECUTOR);
+    }
+
+    @VisibleForTesting
+    RpcExecutor(@NonNull UBus uBus, @NonNull UEntity entity, @NonNull IBinder clientToken,
+            @NonNull Executor executor) {
         mUBus = uBus;
         mResponseUri = UUri.newBuilder()
                 .setEntity(entity)
                 .setResource(UResourceBuilder.forRpcResponse())
                 .build();
         mClientToken = clientToken;
+        mExecutor = executor;
+    }
+
+    private static @NonNull Executor newSendExecutor() {
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(SEND_THREAD_COUNT, SEND_THREAD_COUNT,
+                10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(SEND_QUEUE_CAPACITY), runnable -> {
+                    final Thread thread = new Thread(runnable, "rpc-executor-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     @VisibleForTesting
@@ -82,6 +115,10 @@ public class RpcExecutor implements RpcClient, UListener {
         return !mRequests.isEmpty();
     }
 
+    public int getPendingRequestCount() {
+        return mRequests.size();
+    }
+
     @Override
     public @NonNull CompletionStage<UMessage> invokeMethod(@NonNull UUri methodUri, @NonNull UPayload requestPayload,
             @NonNull CallOptions options) {
@@ -95,18 +132,48 @@ public class RpcExecutor implements RpcClient, UListener {
                 .build();
 
         final CompletableFuture<UMessage> responseFuture = new CompletableFuture<>();
-        responseFuture.whenComplete((response, exception) -> mRequests.remove(requestMessage.getAttributes().getId()));
-        mRequests.put(requestMessage.getAttributes().getId(), responseFuture);
-
-        CompletableFuture.runAsync(() -> {
-            final UStatus status = mUBus.send(requestMessage, mClientToken);
-            if (status.getCode() != UCode.OK) {
-                responseFuture.completeExceptionally(new UStatusException(status));
+        final Timeout timeout = scheduleTimeout(responseFuture, options.getTtl());
+        responseFuture.whenComplete((response, exception) -> {
+            mRequests.remove(requestMessage.getAttributes().getId());
+            if (timeout != null) {
+                timeout.cancel();
             }
         });
+        mRequests.put(requestMessage.getAttributes().getId(), responseFuture);
+
+        try {
+            mExecutor.execute(() -> {
+                final UStatus status = mUBus.send(requestMessage, mClientToken);
+                if (status.getCode() != UCode.OK) {
+                    responseFuture.completeExceptionally(new UStatusException(status));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            responseFuture.completeExceptionally(
+                    new UStatusException(UCode.RESOURCE_EXHAUSTED, "Too many requests in flight"));
+        }
         return responseFuture;
     }
 
+    private Timeout scheduleTimeout(@NonNull CompletableFuture<UMessage> responseFuture, int ttl) {
+        if (ttl <= 0) {
+            return null;
+        }
+        final Runnable expire = () -> responseFuture.completeExceptionally(
+                new UStatusException(UCode.DEADLINE_EXCEEDED, "Request timed out"));
+        final HashedWheelTimer timer = mUBus.getTimer();
+        if (timer != null && !timer.isStopped()) {
+            try {
+                return timer.newTimeout(expire, ttl, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Stopped concurrently, fall back below
+            }
+        }
+        // Without the shared timer, e.g. once UBus is shut down, a pending request must still expire
+        CompletableFuture.delayedExecutor(ttl, TimeUnit.MILLISECONDS, Runnable::run).execute(expire);
+        return null;
+    }
+
     @Override
     public void onReceive(@NonNull UMessage message) {
         final UAttributes attributes = message.getAttributes();
@@ -124,6 +191,11 @@ public class RpcExecutor implements RpcClient, UListener {
         }
     }
 
+    @Override
+    public @NonNull String toString() {
+        return String.format(Locale.US, "%d pending request(s)", getPendingRequestCount());
+    }
+
     private static class Empty extends RpcExecutor {
         @Override
         public @NonNull CompletionStage<UMessage> invokeMethod(@NonNull UUri methodUri,
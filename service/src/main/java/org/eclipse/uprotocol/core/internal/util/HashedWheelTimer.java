@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.internal.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+public class HashedWheelTimer {
+    private static final int MAX_TRANSFERS_PER_TICK = 100000;
+    private static final int DEFAULT_TASK_THREADS = 4;
+    private static final long TASK_THREAD_KEEP_ALIVE_MS = 60000;
+
+    private final long mTickNanos;
+    private final Bucket[] mWheel;
+    private final int mMask;
+    private final Queue<Timeout> mNewTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> mCancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger mPendingCount = new AtomicInteger();
+    private final ExecutorService mTaskExecutor;
+    private final Thread mWorker;
+    private final long mStartTime;
+    private volatile boolean mStopped;
+    private volatile boolean mParked;
+    private long mTick;
+
+    public HashedWheelTimer(@NonNull String name, long tickDuration, @NonNull TimeUnit unit, int ticksPerWheel) {
+        this(name, tickDuration, unit, ticksPerWheel, DEFAULT_TASK_THREADS);
+    }
+
+    public HashedWheelTimer(@NonNull String name, long tickDuration, @NonNull TimeUnit unit, int ticksPerWheel,
+            int taskThreads) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException("Ticks per wheel must be in range (0, 2^30]");
+        }
+        if (taskThreads <= 0) {
+            throw new IllegalArgumentException("Task threads must be positive");
+        }
+        mTickNanos = Math.max(unit.toNanos(tickDuration), TimeUnit.MILLISECONDS.toNanos(1));
+        final int wheelSize = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        mWheel = new Bucket[Math.max(wheelSize, 1)];
+        for (int i = 0; i < mWheel.length; i++) {
+            mWheel[i] = new Bucket();
+        }
+        mMask = mWheel.length - 1;
+        // Expired tasks may block, so they run on a small pool to keep one slow task from delaying the others
+        final AtomicInteger taskThreadCount = new AtomicInteger();
+        final ThreadPoolExecutor taskExecutor = new ThreadPoolExecutor(taskThreads, taskThreads,
+                TASK_THREAD_KEEP_ALIVE_MS, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> newDaemonThread(name + "-task-" + taskThreadCount.incrementAndGet(), runnable));
+        taskExecutor.allowCoreThreadTimeOut(true);
+        mTaskExecutor = taskExecutor;
+        mStartTime = System.nanoTime();
+        mWorker = newDaemonThread(name, this::run);
+        mWorker.start();
+    }
+
+    private static @NonNull Thread newDaemonThread(@NonNull String name, @NonNull Runnable runnable) {
+        final Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    public @NonNull Timeout newTimeout(@NonNull Runnable task, long delay, @NonNull TimeUnit unit) {
+        if (mStopped) {
+            throw new RejectedExecutionException("Timer is stopped");
+        }
+        final Timeout timeout = new Timeout(task, System.nanoTime() - mStartTime + unit.toNanos(Math.max(delay, 0)));
+        mNewTimeouts.add(timeout);
+        if (mPendingCount.incrementAndGet() == 1) {
+            LockSupport.unpark(mWorker);
+        }
+        return timeout;
+    }
+
+    public int getPendingCount() {
+        return mPendingCount.get();
+    }
+
+    public int getWheelSize() {
+        return mWheel.length;
+    }
+
+    public void stop() {
+        mStopped = true;
+        mWorker.interrupt();
+        mTaskExecutor.shutdownNow();
+        mNewTimeouts.clear();
+        mCancelledTimeouts.clear();
+        mPendingCount.set(0);
+    }
+
+    public boolean isStopped() {
+        return mStopped;
+    }
+
+    @VisibleForTesting
+    boolean isParked() {
+        return mParked;
+    }
+
+    private void run() {
+        while (!mStopped) {
+            if (mPendingCount.get() == 0) {
+                park();
+                continue;
+            }
+            final long deadline = waitForNextTick();
+            if (deadline < 0) {
+                break;
+            }
+            removeCancelledTimeouts();
+            transferNewTimeouts();
+            mWheel[(int) (mTick & mMask)].expireTimeouts(deadline);
+            mTick++;
+        }
+    }
+
+    private void park() {
+        // Nothing is scheduled, stop ticking so that an idle timer does not keep waking the device up
+        mParked = true;
+        while (mPendingCount.get() == 0 && !mStopped) {
+            LockSupport.park(this);
+        }
+        mParked = false;
+        removeCancelledTimeouts();
+        mTick = Math.max(mTick, (System.nanoTime() - mStartTime) / mTickNanos);
+    }
+
+    private long waitForNextTick() {
+        final long deadline = mTickNanos * (mTick + 1);
+        while (true) {
+            final long currentTime = System.nanoTime() - mStartTime;
+            final long sleepMs = TimeUnit.NANOSECONDS.toMillis(deadline - currentTime + 999999);
+            if (sleepMs <= 0) {
+                return currentTime;
+            }
+            try {
+                Thread.sleep(sleepMs);
+            } catch (InterruptedException e) {
+                if (mStopped) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = mCancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferNewTimeouts() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            final Timeout timeout = mNewTimeouts.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            final long ticks = timeout.deadline / mTickNanos;
+            timeout.remainingRounds = (ticks - mTick) / mWheel.length;
+            mWheel[(int) (Math.max(ticks, mTick) & mMask)].add(timeout);
+        }
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return String.format(Locale.US, "%d pending, %d ms x %d", getPendingCount(),
+                TimeUnit.NANOSECONDS.toMillis(mTickNanos), mWheel.length);
+    }
+
+    public final class Timeout {
+        private static final int STATE_PENDING = 0;
+        private static final int STATE_CANCELLED = 1;
+        private static final int STATE_EXPIRED = 2;
+
+        private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+        private final Runnable task;
+        private final long deadline;
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(@NonNull Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public boolean cancel() {
+            if (!state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) {
+                return false;
+            }
+            mPendingCount.decrementAndGet();
+            mCancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == STATE_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == STATE_EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(STATE_PENDING, STATE_EXPIRED)) {
+                return;
+            }
+            mPendingCount.decrementAndGet();
+            try {
+                mTaskExecutor.submit(task);
+            } catch (RejectedExecutionException ignored) {
+                // Timer is stopped
+            }
+        }
+    }
+
+    private static final class Bucket {
+        private Timeout mHead;
+        private Timeout mTail;
+
+        void add(@NonNull Timeout timeout) {
+            timeout.bucket = this;
+            if (mHead == null) {
+                mHead = mTail = timeout;
+            } else {
+                mTail.next = timeout;
+                timeout.prev = mTail;
+                mTail = timeout;
+            }
+        }
+
+        void expireTimeouts(long deadline) {
+            Timeout timeout = mHead;
+            while (timeout != null) {
+                final Timeout next = timeout.next;
+                if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    remove(timeout);
+                    timeout.expire();
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(@NonNull Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                mHead = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                mTail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.internal.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ShardedExecutor implements Executor {
+    public static final int DEFAULT_QUEUE_CAPACITY = 10000;
+
+    private final ThreadPoolExecutor[] mShards;
+    private final AtomicInteger mNextShard = new AtomicInteger();
+    private final AtomicLong mRejectedCount = new AtomicLong();
+
+    public ShardedExecutor(@NonNull String name, int shardCount) {
+        this(name, shardCount, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public ShardedExecutor(@NonNull String name, int shardCount, int queueCapacity) {
+        if (shardCount <= 0) {
+            shardCount = Runtime.getRuntime().availableProcessors();
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        // Tasks of a shard must keep their order, so overflow is rejected rather than run by the caller
+        final RejectedExecutionHandler rejectionHandler = (task, executor) -> {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Executor is shut down");
+            }
+            mRejectedCount.incrementAndGet();
+            throw new RejectedExecutionException("Queue is full");
+        };
+        mShards = new ThreadPoolExecutor[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            final String threadName = name + "-" + i;
+            mShards[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity), runnable -> newDaemonThread(threadName, runnable),
+                    rejectionHandler);
+        }
+    }
+
+    private static @NonNull Thread newDaemonThread(@NonNull String name, @NonNull Runnable runnable) {
+        final Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    public int getShardCount() {
+        return mShards.length;
+    }
+
+    public int getShardIndex(@NonNull Object key) {
+        final int hash = key.hashCode();
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % mShards.length;
+    }
+
+    public void execute(@NonNull Object key, @NonNull Runnable task) {
+        mShards[getShardIndex(key)].execute(task);
+    }
+
+    @Override
+    public void execute(@NonNull Runnable task) {
+        mShards[(mNextShard.getAndIncrement() & Integer.MAX_VALUE) % mShards.length].execute(task);
+    }
+
+    public int getQueueSize(int index) {
+        return mShards[index].getQueue().size();
+    }
+
+    public int getQueueSize() {
+        return Arrays.stream(mShards).mapToInt(shard -> shard.getQueue().size()).sum();
+    }
+
+    public long getCompletedTaskCount(int index) {
+        return mShards[index].getCompletedTaskCount();
+    }
+
+    public long getRejectedCount() {
+        return mRejectedCount.get();
+    }
+
+    public void shutdown() {
+        Arrays.stream(mShards).forEach(ThreadPoolExecutor::shutdown);
+    }
+
+    public boolean isShutdown() {
+        return Arrays.stream(mShards).allMatch(ThreadPoolExecutor::isShutdown);
+    }
+
+    public boolean awaitTermination(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ThreadPoolExecutor shard : mShards) {
+            if (!shard.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public @NonNull String toString() {
+        final StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < mShards.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(getQueueSize(i));
+        }
+        return sb.append("]").toString();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.internal.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+public class TokenBucket {
+    private final double mNanosPerToken;
+    private final double mCapacity;
+    private final LongSupplier mTicker;
+    private double mTokens;
+    private long mLastRefillTime;
+
+    public TokenBucket(int ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    TokenBucket(int ratePerSecond, int burst, @NonNull LongSupplier ticker) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        mNanosPerToken = (double) TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        mCapacity = Math.max(burst, 1);
+        mTicker = ticker;
+        mTokens = mCapacity;
+        mLastRefillTime = ticker.getAsLong();
+    }
+
+    public synchronized long tryAcquire() {
+        refill();
+        if (mTokens >= 1) {
+            mTokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - mTokens) * mNanosPerToken);
+    }
+
+    public synchronized void release() {
+        mTokens = Math.min(mTokens + 1, mCapacity);
+    }
+
+    public synchronized double getAvailableTokens() {
+        refill();
+        return mTokens;
+    }
+
+    private void refill() {
+        final long now = mTicker.getAsLong();
+        final long elapsed = now - mLastRefillTime;
+        if (elapsed > 0) {
+            mTokens = Math.min(mCapacity, mTokens + elapsed / mNanosPerToken);
+            mLastRefillTime = now;
+        }
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return String.format(Locale.US, "%.1f/%d tokens", getAvailableTokens(), (int) mCapacity);
+    }
+}
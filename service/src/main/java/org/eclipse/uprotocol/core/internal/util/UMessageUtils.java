@@ -97,4 +97,16 @@ public interface UMessageUtils {
                 .setAttributes(UAttributesBuilder.response(requestMessage.getAttributes()).withCommStatus(code).build())
                 .build();
     }
+
+    /** NOTE: To be used only by dispatchers */
+    static @NonNull UMessage rebuildResponseMessage(@NonNull UMessage responseMessage, @NonNull UMessage requestMessage) {
+        final UAttributes attributes = UAttributesBuilder.response(requestMessage.getAttributes()).build();
+        return UMessage.newBuilder(responseMessage)
+                .setAttributes(UAttributes.newBuilder(responseMessage.getAttributes())
+                        .setId(attributes.getId())
+                        .setReqid(attributes.getReqid())
+                        .setSink(attributes.getSink())
+                        .build())
+                .build();
+    }
 }
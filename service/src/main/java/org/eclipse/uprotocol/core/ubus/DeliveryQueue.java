@@ -0,0 +1,444 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.ubus;
+
+import static org.eclipse.uprotocol.common.util.log.Formatter.join;
+import static org.eclipse.uprotocol.common.util.log.Formatter.joinGrouped;
+import static org.eclipse.uprotocol.core.ubus.UBus.Component.TAG;
+
+import android.util.Log;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import org.eclipse.uprotocol.common.util.log.Key;
+import org.eclipse.uprotocol.core.ubus.client.Client;
+import org.eclipse.uprotocol.core.ubus.client.SerializedMessage;
+import org.eclipse.uprotocol.v1.UAttributes;
+import org.eclipse.uprotocol.v1.UPriority;
+import org.eclipse.uprotocol.v1.UUri;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+class DeliveryQueue {
+    private static final long RATE_WINDOW_NS = TimeUnit.SECONDS.toNanos(1);
+    private static final UPriority[] PRIORITIES = { UPriority.UPRIORITY_CS0, UPriority.UPRIORITY_CS1,
+            UPriority.UPRIORITY_CS2, UPriority.UPRIORITY_CS3, UPriority.UPRIORITY_CS4, UPriority.UPRIORITY_CS5,
+            UPriority.UPRIORITY_CS6 };
+    @VisibleForTesting
+    static final int STARVATION_INTERVAL = 8;
+
+    private final Dispatcher mDispatcher;
+    private final Client mClient;
+    private final Executor mExecutor;
+    private final int mCapacity;
+    private final LongSupplier mTicker;
+    private final Object mLock = new Object();
+    @GuardedBy("mLock")
+    private final List<Deque<Entry>> mLanes = new ArrayList<>(PRIORITIES.length);
+    @GuardedBy("mLock")
+    private final Map<ConflationKey, Entry> mConflatedEntries = new HashMap<>();
+    @GuardedBy("mLock")
+    private int mSize;
+    @GuardedBy("mLock")
+    private int mOvertakenCount;
+    @GuardedBy("mLock")
+    private boolean mDraining;
+    @GuardedBy("mLock")
+    private boolean mOverflowed;
+    @GuardedBy("mLock")
+    private boolean mClosed;
+    private final AtomicLong mEnqueuedCount = new AtomicLong();
+    private final AtomicLong mDeliveredCount = new AtomicLong();
+    private final AtomicLong mFailedCount = new AtomicLong();
+    private final AtomicLong mDroppedCount = new AtomicLong();
+    private final AtomicLong mConflatedCount = new AtomicLong();
+    private final LaneStats[] mLaneStats = new LaneStats[PRIORITIES.length];
+    private long mRateWindowStart;
+    private long mRateWindowCount;
+    private volatile long mLastDrainTime;
+    private volatile float mDrainRate;
+
+    private static class Entry {
+        SerializedMessage message;
+        final int lane;
+        final long enqueueTime;
+        final ConflationKey conflationKey;
+
+        Entry(@NonNull SerializedMessage message, int lane, long enqueueTime, ConflationKey conflationKey) {
+            this.message = message;
+            this.lane = lane;
+            this.enqueueTime = enqueueTime;
+            this.conflationKey = conflationKey;
+        }
+    }
+
+    // The remote client carries one topic to many sinks, so the latest value is kept per sink
+    private static class ConflationKey {
+        final UUri source;
+        final UUri sink;
+
+        ConflationKey(@NonNull UAttributes attributes) {
+            source = attributes.getSource();
+            sink = attributes.getSink();
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof ConflationKey other)) {
+                return false;
+            }
+            return source.equals(other.source) && sink.equals(other.sink);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, sink);
+        }
+    }
+
+    static class LaneStats {
+        private final AtomicLong mCount = new AtomicLong();
+        private final AtomicLong mTotalNanos = new AtomicLong();
+        private final AtomicLong mMaxNanos = new AtomicLong();
+
+        void record(long latencyNanos) {
+            mCount.incrementAndGet();
+            mTotalNanos.addAndGet(latencyNanos);
+            mMaxNanos.accumulateAndGet(latencyNanos, Math::max);
+        }
+
+        long getCount() {
+            return mCount.get();
+        }
+
+        long getAverageNanos() {
+            final long count = mCount.get();
+            return (count > 0) ? mTotalNanos.get() / count : 0;
+        }
+
+        long getMaxNanos() {
+            return mMaxNanos.get();
+        }
+
+        @Override
+        public @NonNull String toString() {
+            return String.format(Locale.US, "%d avg %.2fms max %.2fms", getCount(),
+                    getAverageNanos() / 1e6, getMaxNanos() / 1e6);
+        }
+    }
+
+    DeliveryQueue(@NonNull Dispatcher dispatcher, @NonNull Client client, @NonNull Executor executor, int capacity) {
+        this(dispatcher, client, executor, capacity, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    DeliveryQueue(@NonNull Dispatcher dispatcher, @NonNull Client client, @NonNull Executor executor, int capacity,
+            @NonNull LongSupplier ticker) {
+        mDispatcher = dispatcher;
+        mClient = client;
+        mExecutor = executor;
+        mCapacity = Math.max(capacity, 1);
+        mTicker = ticker;
+        mRateWindowStart = ticker.getAsLong();
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            mLanes.add(new ArrayDeque<>());
+            mLaneStats[i] = new LaneStats();
+        }
+    }
+
+    private static int getLane(int priorityValue) {
+        return Math.max(0, Math.min(priorityValue - UPriority.UPRIORITY_CS0_VALUE, PRIORITIES.length - 1));
+    }
+
+    private static int getLane(@NonNull SerializedMessage message) {
+        return getLane(message.getMessage().getAttributes().getPriorityValue());
+    }
+
+    public @NonNull Client getClient() {
+        return mClient;
+    }
+
+    public boolean offer(@NonNull SerializedMessage message) {
+        return offer(message, false);
+    }
+
+    public boolean offer(@NonNull SerializedMessage message, boolean conflate) {
+        synchronized (mLock) {
+            if (mClosed) {
+                return false;
+            }
+            final ConflationKey conflationKey =
+                    conflate ? new ConflationKey(message.getMessage().getAttributes()) : null;
+            final int lane = getLane(message);
+            if (conflationKey != null) {
+                final Entry pendingEntry = mConflatedEntries.get(conflationKey);
+                if (pendingEntry != null) {
+                    if (pendingEntry.lane == lane) {
+                        pendingEntry.message = message;
+                    } else {
+                        mLanes.get(pendingEntry.lane).remove(pendingEntry);
+                        final Entry entry = new Entry(message, lane, mTicker.getAsLong(), conflationKey);
+                        mLanes.get(lane).offerLast(entry);
+                        mConflatedEntries.put(conflationKey, entry);
+                    }
+                    mEnqueuedCount.incrementAndGet();
+                    mConflatedCount.incrementAndGet();
+                    return true;
+                }
+            }
+            if (mSize >= mCapacity) {
+                mDroppedCount.incrementAndGet();
+                if (!mOverflowed) {
+                    mOverflowed = true;
+                    Log.w(TAG, join(Key.EVENT, "Delivery queue is full, dropping lowest priority messages",
+                            Key.CLIENT, mClient));
+                }
+                final int lowestLane = getLowestLane();
+                if (lane < lowestLane) {
+                    return false;
+                }
+                dropOldest(lowestLane);
+            }
+            final Entry entry = new Entry(message, lane, mTicker.getAsLong(), conflationKey);
+            mLanes.get(lane).offerLast(entry);
+            if (conflationKey != null) {
+                mConflatedEntries.put(conflationKey, entry);
+            }
+            mSize++;
+            mEnqueuedCount.incrementAndGet();
+            if (!mDraining) {
+                mDraining = true;
+                try {
+                    mExecutor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    mDraining = false;
+                    mDroppedCount.addAndGet(mSize);
+                    Log.w(TAG, join(Key.EVENT, "Delivery executor rejected drain, dropping pending messages",
+                            Key.CLIENT, mClient, Key.COUNT, mSize));
+                    clearLanes();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    @GuardedBy("mLock")
+    private int getLowestLane() {
+        for (int i = 0; i < mLanes.size(); i++) {
+            if (!mLanes.get(i).isEmpty()) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    @GuardedBy("mLock")
+    private void dropOldest(int lane) {
+        final Entry entry = mLanes.get(lane).pollFirst();
+        if (entry != null) {
+            removeConflatedEntry(entry);
+            mSize--;
+        }
+    }
+
+    @GuardedBy("mLock")
+    private void clearLanes() {
+        mLanes.forEach(Deque::clear);
+        mConflatedEntries.clear();
+        mSize = 0;
+    }
+
+    @GuardedBy("mLock")
+    private void removeConflatedEntry(@NonNull Entry entry) {
+        if (entry.conflationKey != null) {
+            mConflatedEntries.remove(entry.conflationKey, entry);
+        }
+    }
+
+    @GuardedBy("mLock")
+    private SerializedMessage pollLocked() {
+        int highest = -1;
+        int oldest = -1;
+        long oldestTime = 0;
+        for (int i = mLanes.size() - 1; i >= 0; i--) {
+            final Entry head = mLanes.get(i).peekFirst();
+            if (head == null) {
+                continue;
+            }
+            if (highest < 0) {
+                highest = i;
+            }
+            if (oldest < 0 || head.enqueueTime - oldestTime < 0) {
+                oldest = i;
+                oldestTime = head.enqueueTime;
+            }
+        }
+        if (highest < 0) {
+            return null;
+        }
+        int lane = highest;
+        if (oldest != highest) {
+            if (++mOvertakenCount >= STARVATION_INTERVAL) {
+                mOvertakenCount = 0;
+                lane = oldest;
+            }
+        } else {
+            mOvertakenCount = 0;
+        }
+        final Entry entry = mLanes.get(lane).pollFirst();
+        removeConflatedEntry(entry);
+        mSize--;
+        mLaneStats[lane].record(mTicker.getAsLong() - entry.enqueueTime);
+        return entry.message;
+    }
+
+    private SerializedMessage poll() {
+        synchronized (mLock) {
+            final SerializedMessage message = pollLocked();
+            if (message == null) {
+                mDraining = false;
+                mOverflowed = false;
+            }
+            return message;
+        }
+    }
+
+    @VisibleForTesting
+    void drain() {
+        SerializedMessage message;
+        while ((message = poll()) != null) {
+            deliver(message);
+        }
+    }
+
+    private void deliver(@NonNull SerializedMessage message) {
+        if (mDispatcher.dropIfExpired(message.getMessage(), mClient)) {
+            return;
+        }
+        if (mDispatcher.dispatchTo(message, mClient)) {
+            mDeliveredCount.incrementAndGet();
+        } else {
+            mFailedCount.incrementAndGet();
+        }
+        updateDrainRate();
+    }
+
+    private void updateDrainRate() {
+        final long now = mTicker.getAsLong();
+        mLastDrainTime = now;
+        mRateWindowCount++;
+        final long elapsed = now - mRateWindowStart;
+        if (elapsed >= RATE_WINDOW_NS) {
+            mDrainRate = mRateWindowCount * (float) RATE_WINDOW_NS / elapsed;
+            mRateWindowStart = now;
+            mRateWindowCount = 0;
+        }
+    }
+
+    public void close() {
+        synchronized (mLock) {
+            mClosed = true;
+            clearLanes();
+        }
+    }
+
+    public int size() {
+        synchronized (mLock) {
+            return mSize;
+        }
+    }
+
+    public int size(@NonNull UPriority priority) {
+        synchronized (mLock) {
+            return mLanes.get(getLane(priority.getNumber())).size();
+        }
+    }
+
+    public @NonNull LaneStats getLaneStats(@NonNull UPriority priority) {
+        return mLaneStats[getLane(priority.getNumber())];
+    }
+
+    public @NonNull String getLatencySummary() {
+        final List<Object> args = new ArrayList<>();
+        for (int i = PRIORITIES.length - 1; i >= 0; i--) {
+            if (mLaneStats[i].getCount() > 0) {
+                args.addAll(List.of(PRIORITIES[i].name().replace("UPRIORITY_", ""), mLaneStats[i]));
+            }
+        }
+        return joinGrouped(args.toArray());
+    }
+
+    public int getCapacity() {
+        return mCapacity;
+    }
+
+    public long getEnqueuedCount() {
+        return mEnqueuedCount.get();
+    }
+
+    public long getDeliveredCount() {
+        return mDeliveredCount.get();
+    }
+
+    public long getFailedCount() {
+        return mFailedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return mDroppedCount.get();
+    }
+
+    public long getConflatedCount() {
+        return mConflatedCount.get();
+    }
+
+    public float getDrainRate() {
+        return (mTicker.getAsLong() - mLastDrainTime < 2 * RATE_WINDOW_NS) ? mDrainRate : 0;
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return joinGrouped("depth", size() + "/" + mCapacity, "enqueued", getEnqueuedCount(),
+                "delivered", getDeliveredCount(), "failed", getFailedCount(), "dropped", getDroppedCount(),
+                "conflated", getConflatedCount(), "rate", String.format(Locale.US, "%.1f/s", getDrainRate()));
+    }
+}
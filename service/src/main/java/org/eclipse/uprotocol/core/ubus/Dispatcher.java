@@ -31,7 +31,7 @@ import static org.eclipse.uprotocol.common.util.UStatusUtils.toStatus;
 import static org.eclipse.uprotocol.common.util.log.Formatter.join;
 import static org.eclipse.uprotocol.common.util.log.Formatter.stringify;
 import static org.eclipse.uprotocol.core.internal.util.CommonUtils.emptyIfNull;
-import static org.eclipse.uprotocol.core.internal.util.UMessageUtils.addSinkIfEmpty;
+import static org.eclipse.uprotocol.core.internal.util.ResourceUtils.getInteger;
 import static org.eclipse.uprotocol.core.internal.util.UMessageUtils.removeSink;
 import static org.eclipse.uprotocol.core.internal.util.UUriUtils.checkTopicUriValid;
 import static org.eclipse.uprotocol.core.internal.util.UUriUtils.isMethodUri;
@@ -39,26 +39,37 @@ import static org.eclipse.uprotocol.core.internal.util.UUriUtils.isRemoteUri;
 import static org.eclipse.uprotocol.core.internal.util.UUriUtils.isSameClient;
 import static org.eclipse.uprotocol.core.internal.util.UUriUtils.toUri;
 import static org.eclipse.uprotocol.core.internal.util.log.FormatterExt.stringify;
+import static org.eclipse.uprotocol.core.ubus.UBus.FLAG_CONFLATE_DELIVERY;
 import static org.eclipse.uprotocol.core.ubus.UBusManager.FLAG_BLOCK_AUTO_FETCH;
 import static org.eclipse.uprotocol.uri.validator.UriValidator.isEmpty;
 import static org.eclipse.uprotocol.uuid.factory.UuidUtils.isExpired;
 
 import static java.util.Collections.emptyList;
 
+import android.content.Context;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.VisibleForTesting;
 
 import org.eclipse.uprotocol.common.util.log.Key;
+import org.eclipse.uprotocol.core.R;
+import org.eclipse.uprotocol.core.internal.handler.MessageHandler;
+import org.eclipse.uprotocol.core.internal.util.ShardedExecutor;
+import org.eclipse.uprotocol.core.internal.util.UMessageUtils;
+import org.eclipse.uprotocol.core.ubus.PublishRateLimiter.Budget;
+import org.eclipse.uprotocol.core.ubus.RouteTable.Route;
 import org.eclipse.uprotocol.core.ubus.client.Client;
+import org.eclipse.uprotocol.core.ubus.client.ClientHealth;
 import org.eclipse.uprotocol.core.ubus.client.ClientManager;
 import org.eclipse.uprotocol.core.ubus.client.ClientManager.RegistrationListener;
+import org.eclipse.uprotocol.core.ubus.client.SerializedMessage;
 import org.eclipse.uprotocol.core.usubscription.SubscriptionListener;
 import org.eclipse.uprotocol.core.usubscription.USubscription;
 import org.eclipse.uprotocol.core.usubscription.v3.SubscriptionStatus;
 import org.eclipse.uprotocol.core.usubscription.v3.Update;
 import org.eclipse.uprotocol.core.utwin.UTwin;
+import org.eclipse.uprotocol.v1.UAttributes;
 import org.eclipse.uprotocol.v1.UCode;
 import org.eclipse.uprotocol.v1.UMessage;
 import org.eclipse.uprotocol.v1.UMessageType;
@@ -66,22 +77,51 @@ import org.eclipse.uprotocol.v1.UStatus;
 import org.eclipse.uprotocol.v1.UUri;
 
 import java.io.PrintWriter;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
 public class Dispatcher extends UBus.Component {
     private static final int DISPATCH_RETRY_DELAY_MS = 50;
+    private static final int DEFAULT_DELIVERY_QUEUE_CAPACITY = 1000;
+    private static final int DEFAULT_DELIVERY_THREAD_COUNT = 0; // Number of available cores
+    private static final int DELIVERY_THREAD_KEEP_ALIVE_MS = 10_000;
+    private static final int SHUTDOWN_TIMEOUT_MS = 100;
+    private static final int DEFAULT_DISPATCH_SHARD_COUNT = 0; // Number of available cores
+    private static final int DEFAULT_DISPATCH_QUEUE_CAPACITY = ShardedExecutor.DEFAULT_QUEUE_CAPACITY;
+    private static final int DEFAULT_PUBLISH_RATE = 0; // Unlimited
+    private static final int DEFAULT_PUBLISH_BURST = 0; // Same as rate
+    private static final int DEFAULT_SLOW_CLIENT_SEND_MS = 100;
+    private static final int DEFAULT_CLIENT_FAILURE_RATE_PERCENT = 50;
+    private static final int DEFAULT_CLIENT_CIRCUIT_FAILURE_COUNT = 5;
+    private static final int DEFAULT_CLIENT_CIRCUIT_OPEN_MS = 5000;
+    private static final int CLIENT_HEALTH_MIN_SAMPLES = 10;
     private static final UUri EMPTY_URI = UUri.getDefaultInstance();
 
     private final RpcHandler mRpcHandler;
-    private final ScheduledExecutorService mExecutor = Executors.newScheduledThreadPool(1);
+    private final Map<Client, DeliveryQueue> mDeliveryQueues = new ConcurrentHashMap<>();
     private final SubscriptionCache mSubscriptionCache = new SubscriptionCache();
     private final LinkedClients mLinkedClients = new LinkedClients();
+    private final RouteTable mRouteTable = new RouteTable(mSubscriptionCache, mLinkedClients);
+    private final Map<Client, AtomicLong> mExpiredCountByClient = new ConcurrentHashMap<>();
+    private final Map<UUri, AtomicLong> mExpiredCountByTopic = new ConcurrentHashMap<>();
+    private int mDeliveryQueueCapacity = DEFAULT_DELIVERY_QUEUE_CAPACITY;
+    private PublishRateLimiter mRateLimiter = new PublishRateLimiter(DEFAULT_PUBLISH_RATE, DEFAULT_PUBLISH_BURST,
+            DEFAULT_PUBLISH_RATE, DEFAULT_PUBLISH_BURST);
+    private ClientHealth.Policy mHealthPolicy = ClientHealth.Policy.DEFAULT;
+    private ShardedExecutor mExecutor;
+    private ExecutorService mDeliveryExecutor;
     private UTwin mUTwin;
     private USubscription mUSubscription;
     private ClientManager mClientManager;
@@ -101,6 +141,8 @@ public class Dispatcher extends UBus.Component {
         public void onTopicDeprecated(@NonNull UUri topic) {
             mSubscriptionCache.removeTopic(topic);
             mUTwin.removeMessage(topic);
+            mRateLimiter.removeTopic(topic);
+            mExpiredCountByTopic.remove(topic);
         }
     };
 
@@ -108,6 +150,9 @@ public class Dispatcher extends UBus.Component {
         @Override
         public void onClientUnregistered(@NonNull Client client) {
             mLinkedClients.unlinkFromDispatch(client);
+            removeDeliveryQueue(client);
+            mRateLimiter.removeClient(client);
+            mExpiredCountByClient.remove(client);
         }
     };
 
@@ -136,6 +181,25 @@ public class Dispatcher extends UBus.Component {
         mUSubscription = components.getUCore().getUSubscription();
         mSubscriptionCache.setService(mUSubscription);
         mClientManager = components.getClientManager();
+        final Context context = components.getUCore().getContext();
+        mDeliveryQueueCapacity = getInteger(context, R.integer.config_deliveryQueueCapacity,
+                DEFAULT_DELIVERY_QUEUE_CAPACITY);
+        mExecutor = new ShardedExecutor("ubus-dispatch",
+                getInteger(context, R.integer.config_dispatchShardCount, DEFAULT_DISPATCH_SHARD_COUNT),
+                getInteger(context, R.integer.config_dispatchQueueCapacity, DEFAULT_DISPATCH_QUEUE_CAPACITY));
+        mDeliveryExecutor = newDeliveryExecutor(
+                getInteger(context, R.integer.config_deliveryThreadCount, DEFAULT_DELIVERY_THREAD_COUNT));
+        mRateLimiter = new PublishRateLimiter(
+                getInteger(context, R.integer.config_publishRatePerClient, DEFAULT_PUBLISH_RATE),
+                getInteger(context, R.integer.config_publishBurstPerClient, DEFAULT_PUBLISH_BURST),
+                getInteger(context, R.integer.config_publishRatePerTopic, DEFAULT_PUBLISH_RATE),
+                getInteger(context, R.integer.config_publishBurstPerTopic, DEFAULT_PUBLISH_BURST));
+        mHealthPolicy = new ClientHealth.Policy(
+                getInteger(context, R.integer.config_slowClientSendMs, DEFAULT_SLOW_CLIENT_SEND_MS),
+                getInteger(context, R.integer.config_clientFailureRatePercent, DEFAULT_CLIENT_FAILURE_RATE_PERCENT),
+                getInteger(context, R.integer.config_clientCircuitFailureCount, DEFAULT_CLIENT_CIRCUIT_FAILURE_COUNT),
+                getInteger(context, R.integer.config_clientCircuitOpenMs, DEFAULT_CLIENT_CIRCUIT_OPEN_MS),
+                CLIENT_HEALTH_MIN_SAMPLES);
 
         mRpcHandler.init(components);
         mUSubscription.registerListener(mSubscriptionListener);
@@ -152,8 +216,11 @@ public class Dispatcher extends UBus.Component {
     public void shutdown() {
         mRpcHandler.shutdown();
         mExecutor.shutdown();
+        mDeliveryExecutor.shutdown();
         try {
-            if (!mExecutor.awaitTermination(100, TimeUnit.MILLISECONDS)) {
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_TIMEOUT_MS);
+            if (!mExecutor.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS) ||
+                    !mDeliveryExecutor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
                 Log.w(TAG, join(Key.EVENT, "Timeout while waiting for executor termination"));
             }
         } catch (InterruptedException e) {
@@ -163,6 +230,12 @@ public class Dispatcher extends UBus.Component {
         mClientManager.unregisterListener(mClientRegistrationListener);
         mSubscriptionCache.clear();
         mLinkedClients.clear();
+        mRouteTable.clear();
+        mDeliveryQueues.values().forEach(DeliveryQueue::close);
+        mDeliveryQueues.clear();
+        mRateLimiter.clear();
+        mExpiredCountByClient.clear();
+        mExpiredCountByTopic.clear();
     }
 
     @Override
@@ -171,6 +244,11 @@ public class Dispatcher extends UBus.Component {
         mSubscriptionCache.clear();
     }
 
+    @VisibleForTesting
+    void setRateLimiter(@NonNull PublishRateLimiter rateLimiter) {
+        mRateLimiter = rateLimiter;
+    }
+
     @NonNull SubscriptionCache getSubscriptionCache() {
         return mSubscriptionCache;
     }
@@ -191,7 +269,7 @@ public class Dispatcher extends UBus.Component {
 
     public @NonNull UStatus enableDispatching(@NonNull UUri uri, int flags, @NonNull Client client) {
         if (isMethodUri(uri)) {
-            return mRpcHandler.registerServer(uri, client);
+            return mRpcHandler.registerServer(uri, flags, client);
         } else {
             return enableGenericDispatching(uri, flags, client);
         }
@@ -205,19 +283,29 @@ public class Dispatcher extends UBus.Component {
         }
     }
 
+    public @NonNull UStatus setMethodPolicy(@NonNull UUri methodUri, @NonNull MethodPolicy policy,
+            @NonNull Client client) {
+        return mRpcHandler.setMethodPolicy(methodUri, policy, client);
+    }
+
     static boolean shouldAutoFetch(int flags) {
         return (flags & FLAG_BLOCK_AUTO_FETCH) == 0;
     }
 
+    static boolean shouldConflate(int flags) {
+        return (flags & FLAG_CONFLATE_DELIVERY) != 0;
+    }
+
     private @NonNull UStatus enableGenericDispatching(@NonNull UUri topic, int flags, @NonNull Client client) {
         try {
             checkTopicUriValid(topic);
-            mLinkedClients.linkToDispatch(topic, client);
+            final boolean conflate = shouldConflate(flags);
+            mLinkedClients.linkToDispatch(topic, client, conflate);
             if (VERBOSE) {
                 logStatus(Log.VERBOSE, "enableDispatching", STATUS_OK, Key.URI, stringify(topic), Key.CLIENT, client);
             }
             if (shouldAutoFetch(flags) && mSubscriptionCache.isTopicSubscribed(topic, client.getUri())) {
-                dispatchToAsync(mUTwin.getMessage(topic), client);
+                dispatchToAsync(mUTwin.getMessage(topic), client, conflate);
             }
             return STATUS_OK;
         } catch (Exception e) {
@@ -248,41 +336,170 @@ public class Dispatcher extends UBus.Component {
         };
     }
 
-    @SuppressWarnings("BlockingMethodInNonBlockingContext")
     public boolean dispatchTo(UMessage message, @NonNull Client client) {
-        if (message == null) {
+        return (message != null) && dispatchTo(new SerializedMessage(message), client);
+    }
+
+    public boolean dispatchTo(SerializedMessage message, @NonNull Client client) {
+        if (message == null || dropIfExpired(message.getMessage(), client)) {
+            return false;
+        }
+        if (!isRpcMessage(message.getMessage()) && !allowSend(client)) {
+            return false;
+        }
+        final long startTime = System.nanoTime();
+        final UStatus status = sendWithRetry(() -> client.send(message),
+                () -> dropIfExpired(message.getMessage(), client));
+        updateHealth(client, isOk(status), System.nanoTime() - startTime);
+        if (isOk(status)) {
+            if (TRACE_EVENTS) {
+                logStatus(Log.VERBOSE, "dispatch", status, Key.MESSAGE, stringify(message.getMessage()), Key.CLIENT, client);
+            }
+            return true;
+        } else {
+            logStatus(Log.WARN, "dispatch", status, Key.MESSAGE, stringify(message.getMessage()), Key.CLIENT, client);
             return false;
         }
-        UStatus status = STATUS_OK;
+    }
+
+    // RPC messages bypass the circuit breaker, otherwise callers could only wait for a timeout
+    private static boolean isRpcMessage(@NonNull UMessage message) {
+        final UMessageType type = message.getAttributes().getType();
+        return type == UMessageType.UMESSAGE_TYPE_REQUEST || type == UMessageType.UMESSAGE_TYPE_RESPONSE;
+    }
+
+    private boolean allowSend(@NonNull Client client) {
+        if (client.isInternal() || client.getHealth().allowSend(mHealthPolicy)) {
+            return true;
+        }
+        if (TRACE_EVENTS) {
+            logStatus(Log.VERBOSE, "dispatch", buildStatus(UCode.UNAVAILABLE, "Circuit is open"), Key.CLIENT, client);
+        }
+        return false;
+    }
+
+    private void updateHealth(@NonNull Client client, boolean succeeded, long durationNanos) {
+        if (client.isInternal()) {
+            return;
+        }
+        final ClientHealth health = client.getHealth();
+        final boolean changed = succeeded ?
+                health.onSendSucceeded(durationNanos, mHealthPolicy) : health.onSendFailed(mHealthPolicy);
+        if (changed) {
+            Log.w(TAG, join(Key.EVENT, "Client health changed", Key.STATE, health.getState(),
+                    "reason", health.getReason(), Key.CLIENT, client));
+        }
+    }
+
+    private interface Sender {
+        void send() throws Exception;
+    }
+
+    @SuppressWarnings("BlockingMethodInNonBlockingContext")
+    private static @NonNull UStatus sendWithRetry(@NonNull Sender sender, @NonNull BooleanSupplier expired) {
         try {
-            client.send(message);
+            sender.send();
         } catch (Exception ignored) {
             // Pause and retry
             try {
                 Thread.sleep(DISPATCH_RETRY_DELAY_MS);
-                client.send(message);
+                if (expired.getAsBoolean()) {
+                    return buildStatus(UCode.DEADLINE_EXCEEDED, "Message expired");
+                }
+                sender.send();
             } catch (Exception e) {
                 if (e instanceof InterruptedException) {
                     Thread.currentThread().interrupt();
                 }
-                status = toStatus(e);
+                return toStatus(e);
             }
         }
-        if (isOk(status)) {
-            if (TRACE_EVENTS) {
-                logStatus(Log.VERBOSE, "dispatch", status, Key.MESSAGE, stringify(message), Key.CLIENT, client);
-            }
-            return true;
-        } else {
-            logStatus(Log.WARN, "dispatch", status, Key.MESSAGE, stringify(message), Key.CLIENT, client);
+        return STATUS_OK;
+    }
+
+    boolean dropIfExpired(@NonNull UMessage message, @NonNull Client client) {
+        final UAttributes attributes = message.getAttributes();
+        if (!isExpired(attributes)) {
             return false;
         }
+        final UUri topic = (attributes.getType() == UMessageType.UMESSAGE_TYPE_REQUEST) ?
+                attributes.getSink() : attributes.getSource();
+        mExpiredCountByClient.computeIfAbsent(client, key -> new AtomicLong()).incrementAndGet();
+        mExpiredCountByTopic.computeIfAbsent(topic, key -> new AtomicLong()).incrementAndGet();
+        if (VERBOSE) {
+            logStatus(Log.VERBOSE, "dispatch", buildStatus(UCode.DEADLINE_EXCEEDED, "Message expired"),
+                    Key.MESSAGE, stringify(message), Key.CLIENT, client);
+        }
+        return true;
     }
 
-    private void dispatchToAsync(UMessage message, @NonNull Client client) {
+    long getExpiredCount(@NonNull Client client) {
+        final AtomicLong count = mExpiredCountByClient.get(client);
+        return (count != null) ? count.get() : 0;
+    }
+
+    long getExpiredCount(@NonNull UUri topic) {
+        final AtomicLong count = mExpiredCountByTopic.get(topic);
+        return (count != null) ? count.get() : 0;
+    }
+
+    private void dispatchToAsync(UMessage message, @NonNull Client client, boolean conflate) {
         if (message != null) {
-            mExecutor.execute(() -> dispatchTo(message, client));
+            dispatchToAsync(new SerializedMessage(message), client, conflate);
+        }
+    }
+
+    private void dispatchToAsync(@NonNull SerializedMessage message, @NonNull Client client) {
+        dispatchToAsync(message, client, false);
+    }
+
+    private void dispatchToAsync(@NonNull SerializedMessage message, @NonNull Client client, boolean conflate) {
+        final DeliveryQueue queue = getDeliveryQueue(client);
+        if (queue != null) {
+            queue.offer(message, conflate || client.getHealth().isDegraded());
+        }
+    }
+
+    private static @NonNull SerializedMessage addSinkIfEmpty(@NonNull SerializedMessage message, @NonNull UUri sink) {
+        final UMessage sinkMessage = UMessageUtils.addSinkIfEmpty(message.getMessage(), sink);
+        return (sinkMessage == message.getMessage()) ? message : new SerializedMessage(sinkMessage);
+    }
+
+    @VisibleForTesting
+    DeliveryQueue getDeliveryQueue(@NonNull Client client) {
+        if (client.isReleased()) {
+            return null;
+        }
+        final DeliveryQueue queue = mDeliveryQueues.computeIfAbsent(client, key ->
+                new DeliveryQueue(this, client, mDeliveryExecutor, mDeliveryQueueCapacity));
+        if (client.isReleased()) {
+            removeDeliveryQueue(client);
+            return null;
+        }
+        return queue;
+    }
+
+    private void removeDeliveryQueue(@NonNull Client client) {
+        final DeliveryQueue queue = mDeliveryQueues.remove(client);
+        if (queue != null) {
+            queue.close();
+        }
+    }
+
+    private static @NonNull ExecutorService newDeliveryExecutor(int threadCount) {
+        if (threadCount <= 0) {
+            threadCount = Runtime.getRuntime().availableProcessors();
         }
+        // Each delivery queue keeps at most one drain pending, so the work queue is bounded by the number of clients
+        final AtomicInteger deliveryThreadCount = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount,
+                DELIVERY_THREAD_KEEP_ALIVE_MS, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    final Thread thread = new Thread(runnable, "ubus-delivery-" + deliveryThreadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     @VisibleForTesting
@@ -291,27 +508,43 @@ public class Dispatcher extends UBus.Component {
             return;
         }
         final UUri source = message.getAttributes().getSource();
-        final Client remoteClient = mClientManager.getRemoteClient();
-        final LinkedList<Client> clients = new LinkedList<>();
-        final LinkedList<UUri> remoteSinks = new LinkedList<>();
-        final Set<UUri> sinks = isEmpty(sinkOrEmpty) ?
-                mSubscriptionCache.getSubscribers(source) : Set.of(sinkOrEmpty);
-        sinks.forEach(sink -> {
-            if (isRemoteUri(sink)) {
-                remoteSinks.add(sink);
-            } else {
-                mLinkedClients.getClients(source, sink, Collectors.toCollection(() -> clients));
+        final SerializedMessage serializedMessage = new SerializedMessage(message);
+        if (isEmpty(sinkOrEmpty)) {
+            final Route route = mRouteTable.getRoute(source);
+            for (int i = 0; i < route.clients.length; i++) {
+                dispatchToAsync(serializedMessage, route.clients[i], route.conflated[i]);
             }
-        });
-        clients.forEach(client -> dispatchTo(message, client));
-        if (remoteClient != null) {
-            remoteSinks.forEach(sink -> dispatchTo(addSinkIfEmpty(message, sink), remoteClient));
+            if (route.remoteSinks.length > 0) {
+                final Client remoteClient = mClientManager.getRemoteClient();
+                if (remoteClient != null) {
+                    for (UUri sink : route.remoteSinks) {
+                        dispatchToAsync(addSinkIfEmpty(serializedMessage, sink), remoteClient);
+                    }
+                }
+            }
+        } else if (isRemoteUri(sinkOrEmpty)) {
+            final Client remoteClient = mClientManager.getRemoteClient();
+            if (remoteClient != null) {
+                dispatchToAsync(addSinkIfEmpty(serializedMessage, sinkOrEmpty), remoteClient);
+            }
+        } else {
+            mLinkedClients.getClients(source, sinkOrEmpty, Collectors.toCollection(ArrayList::new))
+                    .forEach(client -> dispatchToAsync(serializedMessage, client,
+                            mLinkedClients.isConflated(source, client)));
         }
     }
 
-    private void dispatchAsync(UMessage message, @NonNull UUri sinkOrEmpty) {
-        if (message != null) {
-            mExecutor.execute(() -> dispatch(message, sinkOrEmpty));
+    private boolean dispatchAsync(UMessage message, @NonNull UUri sinkOrEmpty) {
+        if (message == null) {
+            return true;
+        }
+        try {
+            mExecutor.execute(message.getAttributes().getSource(), () -> dispatch(message, sinkOrEmpty));
+            return true;
+        } catch (RejectedExecutionException e) {
+            Log.w(TAG, join(Key.EVENT, "Message dropped", "reason", e.getMessage(),
+                    Key.MESSAGE, stringify(message)));
+            return false;
         }
     }
 
@@ -343,14 +576,19 @@ public class Dispatcher extends UBus.Component {
                 message = removeSink(message);
                 sink = EMPTY_URI;
             }
-            if (!isEmpty(sink)) {
-                dispatchAsync(message, sink);
-                return STATUS_OK;
-            }
-            if (client.isLocal()) {
+            final boolean published = isEmpty(sink);
+            if (published && client.isLocal()) {
                 checkArgument(client.getUri().equals(mSubscriptionCache.getPublisher(topic)), UCode.NOT_FOUND,
                         "Topic was not created by this client");
             }
+            // Internal services are trusted, but the remote client forwards publishes from other devices
+            if (!client.isInternal() || client.isRemote()) {
+                mRateLimiter.acquire(topic, client);
+            }
+            if (!published) {
+                checkArgument(dispatchAsync(message, sink), UCode.RESOURCE_EXHAUSTED, "Dispatch queue is full");
+                return STATUS_OK;
+            }
             if (mUTwin.addMessage(message)) {
                 dispatch(message, EMPTY_URI);
             }
@@ -378,7 +616,7 @@ public class Dispatcher extends UBus.Component {
         }
     }
 
-    public @NonNull ScheduledExecutorService getExecutor() {
+    public @NonNull ShardedExecutor getExecutor() {
         return mExecutor;
     }
 
@@ -409,7 +647,32 @@ public class Dispatcher extends UBus.Component {
         final Set<Client> clients = mClientManager.getClients();
         writer.println("  There are " + mUTwin.getMessageCount() + " topic(s) with published data, " +
                 clients.size() + " registered client(s)");
-        clients.forEach(client -> writer.println("    " + client));
+        writer.println("  Dispatch queue(s): " + mExecutor);
+        if (!mExpiredCountByTopic.isEmpty()) {
+            writer.println("  Expired message(s): " + mExpiredCountByTopic.entrySet().stream()
+                    .map(entry -> stringify(entry.getKey()) + ": " + entry.getValue())
+                    .collect(Collectors.joining(", ", "{", "}")));
+        }
+        clients.forEach(client -> {
+            writer.println("    " + client);
+            final DeliveryQueue queue = mDeliveryQueues.get(client);
+            if (queue != null) {
+                writer.println("      Queue: " + queue);
+                writer.println("      Latency: " + queue.getLatencySummary());
+            }
+            final Budget budget = mRateLimiter.getBudget(client);
+            if (budget != null) {
+                writer.println("      Publish: " + budget);
+            }
+            final long expiredCount = getExpiredCount(client);
+            if (expiredCount > 0) {
+                writer.println("      Expired: " + expiredCount);
+            }
+            if (client.getListener() instanceof MessageHandler handler) {
+                writer.println("      RPC: " + handler.getRpcExecutor());
+                writer.println("      Handler queue(s): " + handler.getQueueSizes());
+            }
+        });
 
         dumpAllTopics(writer);
     }
@@ -438,5 +701,9 @@ public class Dispatcher extends UBus.Component {
         writer.println("    Topic: " + stringify(topic));
         writer.println("  Message: " + stringify(message));
         writer.println("  Clients: " + formattedSubscribers);
+        final Budget budget = mRateLimiter.getBudget(topic);
+        if (budget != null) {
+            writer.println("  Publish: " + budget);
+        }
     }
 }
@@ -27,6 +27,7 @@ package org.eclipse.uprotocol.core.ubus;
 import static org.eclipse.uprotocol.core.internal.util.CommonUtils.emptyIfNull;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import org.eclipse.uprotocol.core.ubus.client.Client;
 import org.eclipse.uprotocol.v1.UUri;
@@ -35,13 +36,31 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collector;
 
 class LinkedClients {
     private final Map<UUri, Set<Client>> mClientsByTopic = new ConcurrentHashMap<>();
     private final Map<Client, Set<UUri>> mTopicsByClient = new ConcurrentHashMap<>();
+    private final Map<Client, Set<UUri>> mConflatedTopicsByClient = new ConcurrentHashMap<>();
+    private volatile Consumer<UUri> mChangeListener;
+
+    public void setChangeListener(@Nullable Consumer<UUri> listener) {
+        mChangeListener = listener;
+    }
+
+    private void notifyChanged(@NonNull UUri topic) {
+        final Consumer<UUri> listener = mChangeListener;
+        if (listener != null) {
+            listener.accept(topic);
+        }
+    }
 
     public void linkToDispatch(@NonNull UUri topic, @NonNull Client client) {
+        linkToDispatch(topic, client, false);
+    }
+
+    public void linkToDispatch(@NonNull UUri topic, @NonNull Client client, boolean conflate) {
         mTopicsByClient.compute(client, (key, topics) -> {
             if (client.isReleased()) {
                 return topics;
@@ -52,8 +71,10 @@ class LinkedClients {
             if (topics.add(topic)) {
                 mClientsByTopic.computeIfAbsent(topic, k -> ConcurrentHashMap.newKeySet()).add(client);
             }
+            setConflated(topic, client, conflate);
             return topics;
         });
+        notifyChanged(topic);
     }
 
     public void unlinkFromDispatch(@NonNull UUri topic, @NonNull Client client) {
@@ -63,19 +84,40 @@ class LinkedClients {
                     clients.remove(client);
                     return clients.isEmpty() ? null : clients;
                 });
+                setConflated(topic, client, false);
             }
             return topics.isEmpty() ? null : topics;
         });
+        notifyChanged(topic);
     }
 
     public void unlinkFromDispatch(@NonNull Client client) {
-        mTopicsByClient.computeIfPresent(client, (key, topics) -> {
-            topics.forEach(topic -> mClientsByTopic.computeIfPresent(topic, (k, clients) -> {
-                clients.remove(client);
-                return clients.isEmpty() ? null : clients;
-            }));
-            return null;
-        });
+        final Set<UUri> topics = mTopicsByClient.remove(client);
+        mConflatedTopicsByClient.remove(client);
+        if (topics != null) {
+            topics.forEach(topic -> {
+                mClientsByTopic.computeIfPresent(topic, (k, clients) -> {
+                    clients.remove(client);
+                    return clients.isEmpty() ? null : clients;
+                });
+                notifyChanged(topic);
+            });
+        }
+    }
+
+    private void setConflated(@NonNull UUri topic, @NonNull Client client, boolean conflate) {
+        if (conflate) {
+            mConflatedTopicsByClient.computeIfAbsent(client, k -> ConcurrentHashMap.newKeySet()).add(topic);
+        } else {
+            mConflatedTopicsByClient.computeIfPresent(client, (k, topics) -> {
+                topics.remove(topic);
+                return topics.isEmpty() ? null : topics;
+            });
+        }
+    }
+
+    public boolean isConflated(@NonNull UUri topic, @NonNull Client client) {
+        return emptyIfNull(mConflatedTopicsByClient.get(client)).contains(topic);
     }
 
     public @NonNull Set<Client> getClients(@NonNull UUri topic) {
@@ -94,8 +136,11 @@ class LinkedClients {
     }
 
     public void clear() {
+        final Set<UUri> topics = Set.copyOf(mClientsByTopic.keySet());
         mClientsByTopic.clear();
         mTopicsByClient.clear();
+        mConflatedTopicsByClient.clear();
+        topics.forEach(this::notifyChanged);
     }
 
     public boolean isEmpty() {
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.ubus;
+
+import static org.eclipse.uprotocol.common.util.log.Formatter.joinGrouped;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MethodPolicy {
+    public static final int DEFAULT_CACHE_SIZE = 64;
+    public static final int DEFAULT_MAX_RETRIES = 5;
+    public static final long DEFAULT_RETRY_DELAY = 500;
+    public static final long DEFAULT_MAX_RETRY_DELAY = 8000;
+    public static final MethodPolicy DEFAULT = new Builder().build();
+
+    private final boolean mCoalescing;
+    private final long mCacheTtl;
+    private final int mCacheSize;
+    private final int mMaxRetries;
+    private final long mRetryDelay;
+    private final long mMaxRetryDelay;
+
+    private MethodPolicy(@NonNull Builder builder) {
+        mCoalescing = builder.mCoalescing;
+        mCacheTtl = builder.mCacheTtl;
+        mCacheSize = builder.mCacheSize;
+        mMaxRetries = builder.mMaxRetries;
+        mRetryDelay = builder.mRetryDelay;
+        mMaxRetryDelay = Math.max(builder.mMaxRetryDelay, builder.mRetryDelay);
+    }
+
+    public boolean isCoalescing() {
+        return mCoalescing;
+    }
+
+    public boolean isCaching() {
+        return mCacheTtl > 0 && mCacheSize > 0;
+    }
+
+    public long getCacheTtl() {
+        return mCacheTtl;
+    }
+
+    public int getCacheSize() {
+        return mCacheSize;
+    }
+
+    public int getMaxRetries() {
+        return mMaxRetries;
+    }
+
+    public long getRetryDelay() {
+        return mRetryDelay;
+    }
+
+    public long getMaxRetryDelay() {
+        return mMaxRetryDelay;
+    }
+
+    public long getRetryDelay(int attempt) {
+        return Math.min(Math.max(mRetryDelay, 0) << Math.min(attempt, 30), mMaxRetryDelay);
+    }
+
+    @Override
+    public @NonNull String toString() {
+        final List<Object> args = new ArrayList<>(List.of("coalescing", mCoalescing));
+        if (isCaching()) {
+            args.addAll(List.of("cache_ttl", mCacheTtl, "cache_size", mCacheSize));
+        }
+        if (mMaxRetries != DEFAULT_MAX_RETRIES || mRetryDelay != DEFAULT_RETRY_DELAY ||
+                mMaxRetryDelay != DEFAULT_MAX_RETRY_DELAY) {
+            args.addAll(List.of("max_retries", mMaxRetries, "retry_delay", mRetryDelay,
+                    "max_retry_delay", mMaxRetryDelay));
+        }
+        return joinGrouped(args.toArray());
+    }
+
+    public static class Builder {
+        private boolean mCoalescing;
+        private long mCacheTtl;
+        private int mCacheSize = DEFAULT_CACHE_SIZE;
+        private int mMaxRetries = DEFAULT_MAX_RETRIES;
+        private long mRetryDelay = DEFAULT_RETRY_DELAY;
+        private long mMaxRetryDelay = DEFAULT_MAX_RETRY_DELAY;
+
+        public Builder() {}
+
+        public Builder(@NonNull MethodPolicy policy) {
+            mCoalescing = policy.mCoalescing;
+            mCacheTtl = policy.mCacheTtl;
+            mCacheSize = policy.mCacheSize;
+            mMaxRetries = policy.mMaxRetries;
+            mRetryDelay = policy.mRetryDelay;
+            mMaxRetryDelay = policy.mMaxRetryDelay;
+        }
+
+        public @NonNull Builder setCoalescing(boolean coalescing) {
+            mCoalescing = coalescing;
+            return this;
+        }
+
+        public @NonNull Builder setCacheTtl(long ttl) {
+            mCacheTtl = ttl;
+            return this;
+        }
+
+        public @NonNull Builder setCacheSize(int size) {
+            mCacheSize = size;
+            return this;
+        }
+
+        public @NonNull Builder setMaxRetries(int maxRetries) {
+            mMaxRetries = maxRetries;
+            return this;
+        }
+
+        public @NonNull Builder setRetryDelay(long delay, long maxDelay) {
+            mRetryDelay = delay;
+            mMaxRetryDelay = maxDelay;
+            return this;
+        }
+
+        public @NonNull MethodPolicy build() {
+            return new MethodPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.ubus;
+
+import static org.eclipse.uprotocol.common.util.log.Formatter.joinGrouped;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import org.eclipse.uprotocol.common.UStatusException;
+import org.eclipse.uprotocol.core.internal.util.TokenBucket;
+import org.eclipse.uprotocol.core.ubus.client.Client;
+import org.eclipse.uprotocol.v1.UCode;
+import org.eclipse.uprotocol.v1.UUri;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class PublishRateLimiter {
+    private static final int DEFAULT_MAX_TOPIC_BUDGETS = 1000;
+
+    private final int mClientRate;
+    private final int mClientBurst;
+    private final int mTopicRate;
+    private final int mTopicBurst;
+    private final int mMaxTopicBudgets;
+    private final Map<Client, Budget> mClientBudgets = new ConcurrentHashMap<>();
+    @GuardedBy("mTopicBudgets")
+    private final Map<UUri, Budget> mTopicBudgets;
+
+    // Counts are kept even when the rate is unlimited, only the token bucket is skipped
+    static class Budget {
+        private final TokenBucket mBucket;
+        private final AtomicLong mAcceptedCount = new AtomicLong();
+        private final AtomicLong mRejectedCount = new AtomicLong();
+
+        Budget(int rate, int burst) {
+            mBucket = (rate > 0) ? new TokenBucket(rate, (burst > 0) ? burst : rate) : null;
+        }
+
+        long tryAcquire() {
+            return (mBucket != null) ? mBucket.tryAcquire() : 0;
+        }
+
+        void release() {
+            if (mBucket != null) {
+                mBucket.release();
+            }
+        }
+
+        void record(boolean accepted) {
+            if (accepted) {
+                mAcceptedCount.incrementAndGet();
+            } else {
+                mRejectedCount.incrementAndGet();
+            }
+        }
+
+        long getAcceptedCount() {
+            return mAcceptedCount.get();
+        }
+
+        long getRejectedCount() {
+            return mRejectedCount.get();
+        }
+
+        @Override
+        public @NonNull String toString() {
+            if (mBucket == null) {
+                return joinGrouped("accepted", getAcceptedCount(), "rejected", getRejectedCount());
+            }
+            return joinGrouped("accepted", getAcceptedCount(), "rejected", getRejectedCount(), "budget", mBucket);
+        }
+    }
+
+    PublishRateLimiter(int clientRate, int clientBurst, int topicRate, int topicBurst) {
+        this(clientRate, clientBurst, topicRate, topicBurst, DEFAULT_MAX_TOPIC_BUDGETS);
+    }
+
+    @VisibleForTesting
+    PublishRateLimiter(int clientRate, int clientBurst, int topicRate, int topicBurst, int maxTopicBudgets) {
+        mClientRate = clientRate;
+        mClientBurst = clientBurst;
+        mTopicRate = topicRate;
+        mTopicBurst = topicBurst;
+        mMaxTopicBudgets = maxTopicBudgets;
+        mTopicBudgets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUri, Budget> eldest) {
+                return size() > mMaxTopicBudgets;
+            }
+        };
+    }
+
+    public void acquire(@NonNull UUri topic, @NonNull Client client) {
+        final Budget clientBudget = getOrCreateBudget(client);
+        final Budget topicBudget = getOrCreateBudget(topic);
+        long waitNanos = clientBudget.tryAcquire();
+        final String scope;
+        if (waitNanos > 0) {
+            scope = "client";
+        } else {
+            waitNanos = topicBudget.tryAcquire();
+            if (waitNanos > 0) {
+                clientBudget.release();
+            }
+            scope = "topic";
+        }
+        final boolean accepted = (waitNanos == 0);
+        clientBudget.record(accepted);
+        topicBudget.record(accepted);
+        if (!accepted) {
+            throw new UStatusException(UCode.RESOURCE_EXHAUSTED, "Publish rate of " + scope +
+                    " exceeded, retry in " + TimeUnit.NANOSECONDS.toMillis(waitNanos + 999_999) + " ms");
+        }
+    }
+
+    // The remote client carries the publishes of every remote entity, so only topic budgets limit it
+    private @NonNull Budget getOrCreateBudget(@NonNull Client client) {
+        return mClientBudgets.computeIfAbsent(client, key ->
+                new Budget(client.isRemote() ? 0 : mClientRate, mClientBurst));
+    }
+
+    // Least recently used topics are evicted once mMaxTopicBudgets is reached
+    private @NonNull Budget getOrCreateBudget(@NonNull UUri topic) {
+        synchronized (mTopicBudgets) {
+            return mTopicBudgets.computeIfAbsent(topic, key -> new Budget(mTopicRate, mTopicBurst));
+        }
+    }
+
+    @VisibleForTesting
+    int getTopicBudgetCount() {
+        synchronized (mTopicBudgets) {
+            return mTopicBudgets.size();
+        }
+    }
+
+    public @Nullable Budget getBudget(@NonNull Client client) {
+        return mClientBudgets.get(client);
+    }
+
+    public @Nullable Budget getBudget(@NonNull UUri topic) {
+        synchronized (mTopicBudgets) {
+            return mTopicBudgets.get(topic);
+        }
+    }
+
+    public void removeClient(@NonNull Client client) {
+        mClientBudgets.remove(client);
+    }
+
+    public void removeTopic(@NonNull UUri topic) {
+        synchronized (mTopicBudgets) {
+            mTopicBudgets.remove(topic);
+        }
+    }
+
+    public void clear() {
+        mClientBudgets.clear();
+        synchronized (mTopicBudgets) {
+            mTopicBudgets.clear();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.ubus;
+
+import static org.eclipse.uprotocol.common.util.log.Formatter.joinGrouped;
+
+import androidx.annotation.NonNull;
+
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UPayload;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+class ResponseCache {
+    private final long mTtlNanos;
+    private final int mMaxSize;
+    private final Map<UPayload, Entry> mEntries;
+    private long mHitCount;
+    private long mMissCount;
+    private long mGeneration;
+
+    private static class Entry {
+        final UMessage message;
+        final long expiryTime;
+
+        Entry(UMessage message, long expiryTime) {
+            this.message = message;
+            this.expiryTime = expiryTime;
+        }
+    }
+
+    ResponseCache(long ttl, @NonNull TimeUnit unit, int maxSize) {
+        mTtlNanos = unit.toNanos(ttl);
+        mMaxSize = maxSize;
+        mEntries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UPayload, Entry> eldest) {
+                return size() > mMaxSize;
+            }
+        };
+    }
+
+    synchronized UMessage get(@NonNull UPayload payload) {
+        final Entry entry = mEntries.get(payload);
+        if (entry != null) {
+            if (entry.expiryTime - System.nanoTime() > 0) {
+                mHitCount++;
+                return entry.message;
+            }
+            mEntries.remove(payload);
+        }
+        mMissCount++;
+        return null;
+    }
+
+    synchronized void put(@NonNull UPayload payload, @NonNull UMessage responseMessage) {
+        mEntries.put(payload, new Entry(responseMessage, System.nanoTime() + mTtlNanos));
+    }
+
+    synchronized boolean put(@NonNull UPayload payload, @NonNull UMessage responseMessage, long generation) {
+        if (generation != mGeneration) {
+            return false;
+        }
+        put(payload, responseMessage);
+        return true;
+    }
+
+    synchronized long getGeneration() {
+        return mGeneration;
+    }
+
+    synchronized void clear() {
+        mEntries.clear();
+        mGeneration++;
+    }
+
+    synchronized int size() {
+        return mEntries.size();
+    }
+
+    synchronized long getHitCount() {
+        return mHitCount;
+    }
+
+    synchronized long getMissCount() {
+        return mMissCount;
+    }
+
+    @Override
+    public synchronized @NonNull String toString() {
+        final long total = mHitCount + mMissCount;
+        return joinGrouped("hits", mHitCount, "misses", mMissCount,
+                "hit_ratio", ((total > 0) ? (100 * mHitCount / total) : 0) + "%", "size", mEntries.size());
+    }
+}
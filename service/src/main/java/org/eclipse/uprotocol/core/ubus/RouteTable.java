@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.ubus;
+
+import static org.eclipse.uprotocol.core.internal.util.UUriUtils.isRemoteUri;
+
+import androidx.annotation.NonNull;
+
+import org.eclipse.uprotocol.core.ubus.client.Client;
+import org.eclipse.uprotocol.v1.UUri;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+class RouteTable {
+    private final Map<UUri, Route> mRoutes = new ConcurrentHashMap<>();
+    private final SubscriptionCache mSubscriptionCache;
+    private final LinkedClients mLinkedClients;
+
+    static class Route {
+        static final Route EMPTY = new Route(new Client[0], new boolean[0], new UUri[0]);
+
+        final Client[] clients;
+        final boolean[] conflated;
+        final UUri[] remoteSinks;
+
+        Route(@NonNull Client[] clients, @NonNull boolean[] conflated, @NonNull UUri[] remoteSinks) {
+            this.clients = clients;
+            this.conflated = conflated;
+            this.remoteSinks = remoteSinks;
+        }
+    }
+
+    RouteTable(@NonNull SubscriptionCache subscriptionCache, @NonNull LinkedClients linkedClients) {
+        mSubscriptionCache = subscriptionCache;
+        mLinkedClients = linkedClients;
+        mSubscriptionCache.setChangeListener(this::invalidate);
+        mLinkedClients.setChangeListener(this::invalidate);
+    }
+
+    public @NonNull Route getRoute(@NonNull UUri topic) {
+        final Route route = mRoutes.get(topic);
+        return (route != null) ? route : mRoutes.computeIfAbsent(topic, this::buildRoute);
+    }
+
+    private @NonNull Route buildRoute(@NonNull UUri topic) {
+        final Set<UUri> subscribers = mSubscriptionCache.getSubscribers(topic);
+        if (subscribers.isEmpty()) {
+            return Route.EMPTY;
+        }
+        final List<Client> clients = new ArrayList<>();
+        final List<UUri> remoteSinks = new ArrayList<>();
+        mLinkedClients.getClients(topic).forEach(client -> {
+            final UUri clientUri = client.getUri();
+            if (subscribers.contains(clientUri) && !isRemoteUri(clientUri)) {
+                clients.add(client);
+            }
+        });
+        subscribers.forEach(sink -> {
+            if (isRemoteUri(sink)) {
+                remoteSinks.add(sink);
+            }
+        });
+        final boolean[] conflated = new boolean[clients.size()];
+        for (int i = 0; i < conflated.length; i++) {
+            conflated[i] = mLinkedClients.isConflated(topic, clients.get(i));
+        }
+        return new Route(clients.toArray(new Client[0]), conflated, remoteSinks.toArray(new UUri[0]));
+    }
+
+    public void invalidate(@NonNull UUri topic) {
+        mRoutes.remove(topic);
+    }
+
+    public void clear() {
+        mRoutes.clear();
+    }
+
+    public int size() {
+        return mRoutes.size();
+    }
+}
@@ -28,17 +28,23 @@ import static org.eclipse.uprotocol.common.util.UStatusUtils.checkArgument;
 import static org.eclipse.uprotocol.common.util.UStatusUtils.checkNotNull;
 import static org.eclipse.uprotocol.common.util.UStatusUtils.toStatus;
 import static org.eclipse.uprotocol.common.util.log.Formatter.join;
+import static org.eclipse.uprotocol.common.util.log.Formatter.joinGrouped;
 import static org.eclipse.uprotocol.common.util.log.Formatter.stringify;
 import static org.eclipse.uprotocol.core.internal.util.CommonUtils.emptyIfNull;
+import static org.eclipse.uprotocol.core.internal.util.ResourceUtils.getInteger;
 import static org.eclipse.uprotocol.core.internal.util.UMessageUtils.buildFailedResponseMessage;
+import static org.eclipse.uprotocol.core.internal.util.UMessageUtils.rebuildResponseMessage;
 import static org.eclipse.uprotocol.core.internal.util.UUriUtils.checkMethodUriValid;
 import static org.eclipse.uprotocol.core.internal.util.UUriUtils.isRemoteUri;
 import static org.eclipse.uprotocol.core.ubus.Dispatcher.checkAuthority;
+import static org.eclipse.uprotocol.core.ubus.UBus.FLAG_CACHE_RESPONSES;
+import static org.eclipse.uprotocol.core.ubus.UBus.FLAG_COALESCE_REQUESTS;
 import static org.eclipse.uprotocol.uuid.factory.UuidUtils.getRemainingTime;
 import static org.eclipse.uprotocol.uuid.factory.UuidUtils.isExpired;
 
 import static java.util.concurrent.ConcurrentHashMap.newKeySet;
 
+import android.content.Context;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
@@ -46,56 +52,143 @@ import androidx.annotation.VisibleForTesting;
 
 import com.google.common.base.Strings;
 
+import org.eclipse.uprotocol.common.UStatusException;
 import org.eclipse.uprotocol.common.util.log.Key;
+import org.eclipse.uprotocol.core.R;
+import org.eclipse.uprotocol.core.internal.util.HashedWheelTimer;
+import org.eclipse.uprotocol.core.internal.util.HashedWheelTimer.Timeout;
+import org.eclipse.uprotocol.core.internal.util.LatencyHistogram;
 import org.eclipse.uprotocol.core.ubus.client.Client;
 import org.eclipse.uprotocol.core.ubus.client.ClientManager;
 import org.eclipse.uprotocol.core.ubus.client.ClientManager.RegistrationListener;
 import org.eclipse.uprotocol.v1.UCode;
 import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UPayload;
 import org.eclipse.uprotocol.v1.UStatus;
 import org.eclipse.uprotocol.v1.UUID;
 import org.eclipse.uprotocol.v1.UUri;
 
 import java.io.PrintWriter;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 class RpcHandler extends UBus.Component {
-    private static final int RETRY_DELAY_MS = 500;
+    private static final int DEFAULT_MAX_REQUESTS_PER_METHOD = 1000;
+    private static final int DEFAULT_MAX_REQUESTS_PER_SERVER = 2000;
+    private static final int DEFAULT_MAX_REQUESTS_PER_CLIENT = 500;
+    private static final int DEFAULT_MAX_POSTPONED_REQUESTS = 100;
+    private static final int DEFAULT_RESPONSE_CACHE_TTL_MS = 1000;
 
-    private final Map<UUri, Client> mServerByMethod = new ConcurrentHashMap<>();
+    private final Map<UUri, ServerPool> mServersByMethod = new ConcurrentHashMap<>();
     private final Map<Client, Set<UUri>> mMethodsByServer = new ConcurrentHashMap<>();
     private final Map<UUID, Request> mRequests = new ConcurrentHashMap<>();
+    private final Map<UUri, Set<UUID>> mPostponedRequestsByMethod = new ConcurrentHashMap<>();
+    private final Map<Client, Set<Request>> mRequestsByServer = new ConcurrentHashMap<>();
+    private final Map<Client, Set<Request>> mRequestsByCaller = new ConcurrentHashMap<>();
+    private final Map<UUri, Set<Request>> mRequestsByMethod = new ConcurrentHashMap<>();
+    private final Map<UUri, MethodPolicy> mMethodPolicies = new ConcurrentHashMap<>();
+    private final Map<CoalescingKey, Request> mCoalescedRequests = new ConcurrentHashMap<>();
+    private final Map<UUri, ResponseCache> mResponseCaches = new ConcurrentHashMap<>();
+    private final Map<UUri, LatencyStats> mLatencyStats = new ConcurrentHashMap<>();
     private final RegistrationListener mClientRegistrationListener = new RegistrationListener() {
         @Override
         public void onClientUnregistered(@NonNull Client client) {
             unregisterServer(client);
+            failServerRequests(client);
+            dropCallerRequests(client);
         }
     };
+    private final ScheduledExecutorService mExecutor = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicLong mRetryCount = new AtomicLong();
+    private final AtomicLong mRetrySucceededCount = new AtomicLong();
+    private final AtomicLong mRetryFailedCount = new AtomicLong();
+    private final AtomicLong mRetryExhaustedCount = new AtomicLong();
     private ClientManager mClientManager;
     private Dispatcher mDispatcher;
-    private ScheduledExecutorService mExecutor;
+    private HashedWheelTimer mTimer;
+    private int mMaxRequestsPerMethod = DEFAULT_MAX_REQUESTS_PER_METHOD;
+    private int mMaxRequestsPerServer = DEFAULT_MAX_REQUESTS_PER_SERVER;
+    private int mMaxRequestsPerClient = DEFAULT_MAX_REQUESTS_PER_CLIENT;
+    private int mMaxPostponedRequests = DEFAULT_MAX_POSTPONED_REQUESTS;
+    private int mResponseCacheTtl = DEFAULT_RESPONSE_CACHE_TTL_MS;
+    private int mResponseCacheSize = MethodPolicy.DEFAULT_CACHE_SIZE;
+    private MethodPolicy mDefaultMethodPolicy = MethodPolicy.DEFAULT;
 
     @SuppressWarnings("unused")
     private static class Request {
+        static final int STATE_POSTPONED = 0;
+        static final int STATE_DISPATCHING = 1;
+        static final int STATE_DISPATCHED = 2;
+        static final int STATE_COMPLETED = 3;
+        static final int STATE_COALESCED = 4;
+
         final UMessage message;
+        final UUID id;
         final UUri methodUri;
         final Client client;
         final long timestamp;
-        final ScheduledFuture<?> timeoutFuture;
-        volatile boolean dispatched;
-
-        public Request(UMessage message, Client client, long timestamp, ScheduledFuture<?> timeoutFuture, boolean dispatched) {
+        final CoalescingKey coalescingKey;
+        final Queue<Request> followers = new ConcurrentLinkedQueue<>();
+        final AtomicInteger state = new AtomicInteger(STATE_DISPATCHING);
+        volatile Timeout timeout;
+        volatile Client server;
+        volatile int retryCount;
+        volatile long dispatchTime;
+        volatile long cacheGeneration;
+
+        public Request(UMessage message, Client client, long timestamp, boolean coalescing) {
             this.message = message;
+            this.id = message.getAttributes().getId();
             this.methodUri = message.getAttributes().getSink();
             this.client = client;
             this.timestamp = timestamp;
-            this.timeoutFuture = timeoutFuture;
-            this.dispatched = dispatched;
+            this.coalescingKey = coalescing ? new CoalescingKey(methodUri, message.getPayload()) : null;
+        }
+    }
+
+    private static class LatencyStats {
+        final LatencyHistogram queueing = new LatencyHistogram();
+        final LatencyHistogram dispatch = new LatencyHistogram();
+        final LatencyHistogram processing = new LatencyHistogram();
+        final LatencyHistogram delivery = new LatencyHistogram();
+    }
+
+    private static class CoalescingKey {
+        final UUri methodUri;
+        final UPayload payload;
+
+        CoalescingKey(UUri methodUri, UPayload payload) {
+            this.methodUri = methodUri;
+            this.payload = payload;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof CoalescingKey other)) {
+                return false;
+            }
+            return methodUri.equals(other.methodUri) && payload.equals(other.payload);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(methodUri, payload);
         }
     }
 
@@ -108,27 +201,93 @@ class RpcHandler extends UBus.Component {
     public void init(@NonNull UBus.Components components) {
         mClientManager = components.getClientManager();
         mDispatcher = components.getDispatcher();
-        mExecutor = mDispatcher.getExecutor();
+        mTimer = components.getTimer();
+        final Context context = components.getUCore().getContext();
+        setLimits(getInteger(context, R.integer.config_rpcMaxRequestsPerMethod, DEFAULT_MAX_REQUESTS_PER_METHOD),
+                getInteger(context, R.integer.config_rpcMaxRequestsPerServer, DEFAULT_MAX_REQUESTS_PER_SERVER),
+                getInteger(context, R.integer.config_rpcMaxRequestsPerClient, DEFAULT_MAX_REQUESTS_PER_CLIENT),
+                getInteger(context, R.integer.config_rpcMaxPostponedRequests, DEFAULT_MAX_POSTPONED_REQUESTS));
+        setResponseCacheLimits(getInteger(context, R.integer.config_rpcResponseCacheTtlMs, DEFAULT_RESPONSE_CACHE_TTL_MS),
+                getInteger(context, R.integer.config_rpcResponseCacheSize, MethodPolicy.DEFAULT_CACHE_SIZE));
+        setRetryLimits(getInteger(context, R.integer.config_rpcMaxRetries, MethodPolicy.DEFAULT_MAX_RETRIES),
+                getInteger(context, R.integer.config_rpcRetryDelayMs, (int) MethodPolicy.DEFAULT_RETRY_DELAY),
+                getInteger(context, R.integer.config_rpcMaxRetryDelayMs, (int) MethodPolicy.DEFAULT_MAX_RETRY_DELAY));
         mClientManager.registerListener(mClientRegistrationListener);
     }
 
     @Override
     public void shutdown() {
         mClientManager.unregisterListener(mClientRegistrationListener);
-        mServerByMethod.clear();
+        mExecutor.shutdownNow();
+        mServersByMethod.clear();
         mMethodsByServer.clear();
+        mRequests.values().forEach(RpcHandler::cancelTimeout);
         mRequests.clear();
+        mPostponedRequestsByMethod.clear();
+        mRequestsByServer.clear();
+        mRequestsByCaller.clear();
+        mRequestsByMethod.clear();
+        mMethodPolicies.clear();
+        mCoalescedRequests.clear();
+        mResponseCaches.clear();
+        mLatencyStats.clear();
+    }
+
+    @VisibleForTesting
+    void setLimits(int maxRequestsPerMethod, int maxRequestsPerServer, int maxRequestsPerClient,
+            int maxPostponedRequests) {
+        mMaxRequestsPerMethod = maxRequestsPerMethod;
+        mMaxRequestsPerServer = maxRequestsPerServer;
+        mMaxRequestsPerClient = maxRequestsPerClient;
+        mMaxPostponedRequests = maxPostponedRequests;
+    }
+
+    @VisibleForTesting
+    void setResponseCacheLimits(int ttl, int size) {
+        mResponseCacheTtl = ttl;
+        mResponseCacheSize = size;
+    }
+
+    @VisibleForTesting
+    void setRetryLimits(int maxRetries, long retryDelay, long maxRetryDelay) {
+        mDefaultMethodPolicy = new MethodPolicy.Builder()
+                .setMaxRetries(maxRetries)
+                .setRetryDelay(retryDelay, maxRetryDelay)
+                .build();
+    }
+
+    static boolean shouldCacheResponses(int flags) {
+        return (flags & FLAG_CACHE_RESPONSES) != 0;
+    }
+
+    static boolean shouldCoalesceRequests(int flags) {
+        return (flags & FLAG_COALESCE_REQUESTS) != 0;
     }
 
     public @NonNull UStatus registerServer(@NonNull UUri methodUri, @NonNull Client server) {
+        return registerServer(methodUri, 0, server);
+    }
+
+    public @NonNull UStatus registerServer(@NonNull UUri methodUri, int flags, @NonNull Client server) {
         try {
             checkMethodUriValid(methodUri);
             checkAuthority(methodUri, server);
-            mServerByMethod.compute(methodUri, (key, currentServer) -> {
-                if (currentServer != null && !currentServer.isReleased()) {
-                    checkArgument(currentServer == server, UCode.ALREADY_EXISTS, "Method is registered by other client");
-                    return server;
+            final ServerPool.Policy policy = ServerPool.getPolicy(flags);
+            mServersByMethod.compute(methodUri, (key, pool) -> {
+                if (pool != null) {
+                    pool.removeReleased();
                 }
+                if (pool == null || pool.isEmpty()) {
+                    pool = new ServerPool(policy);
+                } else if (pool.contains(server)) {
+                    invalidateResponseCache(methodUri);
+                    return pool;
+                } else {
+                    checkArgument(pool.isPooled() && pool.getPolicy() == policy, UCode.ALREADY_EXISTS,
+                            "Method is registered by other client");
+                }
+                pool.add(server);
+                invalidateResponseCache(methodUri);
                 mMethodsByServer.compute(server, (it, methods) -> {
                     if (methods == null) {
                         methods = newKeySet();
@@ -138,8 +297,14 @@ class RpcHandler extends UBus.Component {
                     return methods;
                 });
                 logStatus(Log.INFO, "registerServer", STATUS_OK, Key.METHOD, stringify(methodUri), Key.SERVER, server);
-                return server;
+                return pool;
             });
+            if (shouldCacheResponses(flags)) {
+                enableResponseCache(methodUri);
+            }
+            if (shouldCoalesceRequests(flags)) {
+                enableRequestCoalescing(methodUri);
+            }
             return STATUS_OK;
         } catch (Exception e) {
             return logStatus(Log.ERROR, "registerServer", toStatus(e), Key.METHOD, stringify(methodUri), Key.SERVER, server);
@@ -151,14 +316,15 @@ class RpcHandler extends UBus.Component {
         try {
             checkMethodUriValid(methodUri);
             checkAuthority(methodUri, server);
-            mServerByMethod.computeIfPresent(methodUri, (key, currentServer) -> {
-                checkArgument(currentServer == server, UCode.NOT_FOUND, "Method is registered by other client");
+            mServersByMethod.computeIfPresent(methodUri, (key, pool) -> {
+                checkArgument(pool.remove(server), UCode.NOT_FOUND, "Method is registered by other client");
+                invalidateResponseCache(methodUri);
                 mMethodsByServer.computeIfPresent(server, (k, methods) -> {
                     methods.remove(methodUri);
                     return methods.isEmpty() ? null : methods;
                 });
                 logStatus(Log.INFO, "unregisterServer", STATUS_OK, Key.METHOD, stringify(methodUri), Key.SERVER, server);
-                return null;
+                return pool.isEmpty() ? null : pool;
             });
             return STATUS_OK;
         } catch (Exception e) {
@@ -169,77 +335,454 @@ class RpcHandler extends UBus.Component {
     @SuppressWarnings("java:S3398")
     private void unregisterServer(@NonNull Client server) {
         final Set<UUri> methods = emptyIfNull(mMethodsByServer.remove(server));
-        methods.forEach(methodUri -> mServerByMethod.computeIfPresent(methodUri, (key, currentServer) -> {
-            if (currentServer == server) {
+        methods.forEach(methodUri -> mServersByMethod.computeIfPresent(methodUri, (key, pool) -> {
+            if (pool.remove(server)) {
+                invalidateResponseCache(methodUri);
                 logStatus(Log.INFO, "unregisterServer", STATUS_OK, Key.METHOD, stringify(methodUri), Key.SERVER, server);
-                return null;
             }
-            return currentServer;
+            return pool.isEmpty() ? null : pool;
         }));
     }
 
+    public @NonNull UStatus setMethodPolicy(@NonNull UUri methodUri, @NonNull MethodPolicy policy,
+            @NonNull Client server) {
+        try {
+            checkMethodUriValid(methodUri);
+            checkAuthority(methodUri, server);
+            applyMethodPolicy(methodUri, policy);
+            return logStatus(Log.INFO, "setMethodPolicy", STATUS_OK, Key.METHOD, stringify(methodUri),
+                    "policy", policy, Key.SERVER, server);
+        } catch (Exception e) {
+            return logStatus(Log.ERROR, "setMethodPolicy", toStatus(e), Key.METHOD, stringify(methodUri),
+                    "policy", policy, Key.SERVER, server);
+        }
+    }
+
+    private void applyMethodPolicy(@NonNull UUri methodUri, @NonNull MethodPolicy policy) {
+        mMethodPolicies.put(methodUri, policy);
+        if (policy.isCaching()) {
+            mResponseCaches.put(methodUri,
+                    new ResponseCache(policy.getCacheTtl(), TimeUnit.MILLISECONDS, policy.getCacheSize()));
+        } else {
+            mResponseCaches.remove(methodUri);
+        }
+    }
+
+    private void enableResponseCache(@NonNull UUri methodUri) {
+        final MethodPolicy policy = getMethodPolicy(methodUri);
+        if (policy.isCaching()) {
+            return;
+        }
+        applyMethodPolicy(methodUri, new MethodPolicy.Builder(policy)
+                .setCacheTtl(mResponseCacheTtl)
+                .setCacheSize(mResponseCacheSize)
+                .build());
+    }
+
+    private void enableRequestCoalescing(@NonNull UUri methodUri) {
+        final MethodPolicy policy = getMethodPolicy(methodUri);
+        if (policy.isCoalescing()) {
+            return;
+        }
+        // Caching is unchanged, so the existing response cache is kept
+        mMethodPolicies.put(methodUri, new MethodPolicy.Builder(policy)
+                .setCoalescing(true)
+                .build());
+    }
+
+    public @NonNull MethodPolicy getMethodPolicy(@NonNull UUri methodUri) {
+        return mMethodPolicies.getOrDefault(methodUri, mDefaultMethodPolicy);
+    }
+
+    @VisibleForTesting
+    @NonNull MethodPolicy getDefaultMethodPolicy() {
+        return mDefaultMethodPolicy;
+    }
+
+    private void invalidateResponseCache(@NonNull UUri methodUri) {
+        final ResponseCache cache = mResponseCaches.get(methodUri);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private boolean dispatchCachedResponseMessage(@NonNull UMessage requestMessage, @NonNull Client client) {
+        final ResponseCache cache = mResponseCaches.get(requestMessage.getAttributes().getSink());
+        final UMessage responseMessage = (cache != null) ? cache.get(requestMessage.getPayload()) : null;
+        if (responseMessage == null) {
+            return false;
+        }
+        mDispatcher.dispatchTo(rebuildResponseMessage(responseMessage, requestMessage), client);
+        return true;
+    }
+
+    private long getResponseCacheGeneration(@NonNull UUri methodUri) {
+        final ResponseCache cache = mResponseCaches.get(methodUri);
+        return (cache != null) ? cache.getGeneration() : 0;
+    }
+
+    private void cacheResponseMessage(@NonNull Request request, @NonNull UMessage responseMessage) {
+        final ResponseCache cache = mResponseCaches.get(request.methodUri);
+        if (cache != null && responseMessage.getAttributes().getCommstatus() == UCode.OK) {
+            // A reply to a request dispatched before the cache was invalidated may reflect the old server state
+            cache.put(request.message.getPayload(), responseMessage, request.cacheGeneration);
+        }
+    }
+
+    @VisibleForTesting
+    ResponseCache getResponseCache(@NonNull UUri methodUri) {
+        return mResponseCaches.get(methodUri);
+    }
+
     @VisibleForTesting
     Client getServer(@NonNull UUri methodUri) {
-        return isRemoteUri(methodUri) ?
-                mClientManager.getRemoteClient() : mServerByMethod.computeIfPresent(methodUri, (key, server) -> server);
+        return selectServer(methodUri, Set.of());
+    }
+
+    private Client selectServer(@NonNull UUri methodUri, @NonNull Collection<Client> excluded) {
+        if (isRemoteUri(methodUri)) {
+            final Client server = mClientManager.getRemoteClient();
+            return excluded.contains(server) ? null : server;
+        }
+        final ServerPool pool = mServersByMethod.get(methodUri);
+        return (pool != null) ? pool.select(this::getLoad, excluded) : null;
+    }
+
+    private int getLoad(@NonNull Client server) {
+        return emptyIfNull(mRequestsByServer.get(server)).size();
     }
 
     @VisibleForTesting
-    Map<UUri, Client> getServers() {
-        return mServerByMethod;
+    Map<UUri, ServerPool> getServers() {
+        return mServersByMethod;
     }
 
-    private @NonNull ScheduledFuture<?> scheduleTimeoutResponseMessage(@NonNull UUID requestId, long timeout) {
-        return mExecutor.schedule(() -> mRequests.computeIfPresent(requestId, (key, request) -> {
-            Log.w(TAG, join(Key.EVENT, "Timeout while waiting for response", Key.REQUEST, stringify(request.message)));
-            final UMessage responseMessage = buildFailedResponseMessage(request.message, UCode.DEADLINE_EXCEEDED);
-            mDispatcher.dispatchTo(responseMessage, request.client);
-            return null;
-        }), timeout, TimeUnit.MILLISECONDS);
+    private @NonNull Timeout scheduleTimeoutResponseMessage(@NonNull Request request, long timeout) {
+        return mTimer.newTimeout(() -> failRequest(request, UCode.DEADLINE_EXCEEDED,
+                "Timeout while waiting for response"), timeout, TimeUnit.MILLISECONDS);
+    }
+
+    private void failRequest(@NonNull Request request, @NonNull UCode code, @NonNull String reason) {
+        if (!completeRequest(request)) {
+            return;
+        }
+        promoteFollowers(request);
+        Log.w(TAG, join(Key.EVENT, reason, Key.REQUEST, stringify(request.message)));
+        final UMessage responseMessage = buildFailedResponseMessage(request.message, code);
+        mDispatcher.dispatchTo(responseMessage, request.client);
+    }
+
+    private void failServerRequests(@NonNull Client server) {
+        emptyIfNull(mRequestsByServer.remove(server)).forEach(request ->
+                failRequest(request, UCode.UNAVAILABLE, "Server died while processing request"));
+    }
+
+    private void dropCallerRequests(@NonNull Client client) {
+        emptyIfNull(mRequestsByCaller.remove(client)).forEach(request -> {
+            if (completeRequest(request)) {
+                promoteFollowers(request);
+            }
+        });
+    }
+
+    private static <K> void trackRequest(@NonNull Map<K, Set<Request>> requests, @NonNull K key,
+            @NonNull Request request) {
+        requests.computeIfAbsent(key, it -> newKeySet()).add(request);
+    }
+
+    // Checked and added under the map's lock for the key, so concurrent callers cannot exceed the limit
+    private static <K> void trackRequest(@NonNull Map<K, Set<Request>> requests, @NonNull K key,
+            @NonNull Request request, int limit, @NonNull String name) {
+        requests.compute(key, (it, trackedRequests) -> {
+            if (trackedRequests == null) {
+                trackedRequests = newKeySet();
+            }
+            checkArgument(limit <= 0 || trackedRequests.size() < limit, UCode.RESOURCE_EXHAUSTED,
+                    "Too many outstanding requests for " + name);
+            trackedRequests.add(request);
+            return trackedRequests;
+        });
+    }
+
+    private static <K> void untrackRequest(@NonNull Map<K, Set<Request>> requests, K key,
+            @NonNull Request request) {
+        if (key != null) {
+            final Set<Request> trackedRequests = requests.get(key);
+            if (trackedRequests != null) {
+                trackedRequests.remove(request);
+            }
+        }
+    }
+
+    private static <K> void checkLimit(@NonNull Map<K, Set<Request>> requests, @NonNull K key, int limit,
+            @NonNull String name) {
+        if (limit > 0) {
+            checkArgument(emptyIfNull(requests.get(key)).size() < limit, UCode.RESOURCE_EXHAUSTED,
+                    "Too many outstanding requests for " + name);
+        }
     }
 
     public @NonNull UStatus handleRequestMessage(@NonNull UMessage requestMessage, @NonNull Client client) {
-        final long startTime = System.currentTimeMillis();
+        final long startTime = System.nanoTime();
         final UUID requestId = requestMessage.getAttributes().getId();
         final UUri methodUri = requestMessage.getAttributes().getSink();
         final long timeout = getRemainingTime(requestMessage.getAttributes()).orElse(0L);
         try {
             checkAuthority(requestMessage.getAttributes().getSource(), client);
             checkArgument(timeout > 0, UCode.DEADLINE_EXCEEDED, "Message expired");
+            checkArgument(!mRequests.containsKey(requestId), UCode.ABORTED, "Duplicated request found");
+            final Client server = getServer(methodUri);
+            checkNotNull(server, UCode.UNAVAILABLE, "Service is not available");
+            if (dispatchCachedResponseMessage(requestMessage, client)) {
+                return STATUS_OK;
+            }
+            // The remote client carries the requests of every remote entity, only the method limit applies to it.
+            // Requests are counted against a server once dispatched to it, so the server limit is a soft limit.
+            if (!server.isRemote()) {
+                checkLimit(mRequestsByServer, server, mMaxRequestsPerServer, "server");
+            }
 
-            final Request request = mRequests.compute(requestId, (key, currentRequest) -> {
-                checkArgument(currentRequest == null, UCode.ABORTED, "Duplicated request found");
-                final Client server = getServer(methodUri);
-                checkNotNull(server, UCode.UNAVAILABLE, "Service is not available");
-                final boolean dispatched = mDispatcher.dispatchTo(requestMessage, server);
-                if (!dispatched) {
-                    mExecutor.schedule(() -> dispatchRequestMessage(requestId), RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
-                }
-                return new Request(requestMessage, client, startTime,
-                        scheduleTimeoutResponseMessage(requestId, timeout), dispatched);
-            });
-            checkNotNull(request, UCode.UNAVAILABLE, "Service is not available");
+            final boolean coalescing = getMethodPolicy(methodUri).isCoalescing();
+            final Request request = new Request(requestMessage, client, startTime, coalescing);
+            checkArgument(mRequests.putIfAbsent(requestId, request) == null, UCode.ABORTED, "Duplicated request found");
+            try {
+                trackRequest(mRequestsByMethod, methodUri, request, mMaxRequestsPerMethod, "method");
+                trackRequest(mRequestsByCaller, client, request, client.isRemote() ? 0 : mMaxRequestsPerClient,
+                        "client");
+            } catch (Exception e) {
+                completeRequest(request);
+                throw e;
+            }
+            // Tracked everywhere before the timeout can fire and untrack it
+            request.timeout = scheduleTimeoutResponseMessage(request, timeout);
+            if (request.state.get() == Request.STATE_COMPLETED) {
+                cancelTimeout(request);
+            }
+            if (client.isReleased()) {
+                dropCallerRequests(client);
+                return STATUS_OK;
+            }
+            if (coalescing && !coalesceRequest(request)) {
+                return STATUS_OK;
+            }
+            if (!dispatchRequestMessage(request, server)) {
+                scheduleRetry(request);
+            }
             return STATUS_OK;
         } catch (Exception e) {
             return toStatus(e);
         }
     }
 
-    private void dispatchRequestMessage(@NonNull UUID requestId) {
-        mRequests.computeIfPresent(requestId, (key, request) -> {
-            if (request.dispatched) {
+    private void scheduleRetry(@NonNull Request request) {
+        if (request.state.get() != Request.STATE_POSTPONED) {
+            return;
+        }
+        final MethodPolicy policy = getMethodPolicy(request.methodUri);
+        final int attempt = request.retryCount;
+        final long remainingTime = getRemainingTime(request.message.getAttributes()).orElse(0L);
+        final long delay = (attempt < policy.getMaxRetries()) ? getRetryDelay(policy, attempt) : -1;
+        if (delay < 0 || delay >= remainingTime) {
+            mRetryExhaustedCount.incrementAndGet();
+            if (DEBUG) {
+                Log.d(TAG, join(Key.EVENT, "No more retries", Key.REQUEST, stringify(request.message),
+                        "retries", attempt));
+            }
+            return;
+        }
+        request.retryCount = attempt + 1;
+        mExecutor.schedule(() -> retryRequestMessage(request), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private static long getRetryDelay(@NonNull MethodPolicy policy, int attempt) {
+        final long delay = policy.getRetryDelay(attempt);
+        return (delay > 1) ? delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1) : delay;
+    }
+
+    private void retryRequestMessage(@NonNull Request request) {
+        if (!request.state.compareAndSet(Request.STATE_POSTPONED, Request.STATE_DISPATCHING)) {
+            return;
+        }
+        mRetryCount.incrementAndGet();
+        if (dispatchRequestMessage(request, getServer(request.methodUri))) {
+            mRetrySucceededCount.incrementAndGet();
+            removePostponedRequest(request);
+        } else {
+            mRetryFailedCount.incrementAndGet();
+            scheduleRetry(request);
+        }
+    }
+
+    private boolean coalesceRequest(@NonNull Request request) {
+        final Request leader = mCoalescedRequests.compute(request.coalescingKey, (key, current) -> {
+            if (current == null || current.state.get() == Request.STATE_COMPLETED) {
                 return request;
             }
-            final Client server = getServer(request.methodUri);
-            request.dispatched = (server != null) && mDispatcher.dispatchTo(request.message, server);
-            return request;
+            if (request.state.compareAndSet(Request.STATE_DISPATCHING, Request.STATE_COALESCED)) {
+                current.followers.add(request);
+            }
+            return current;
         });
+        if (leader != request) {
+            return false;
+        }
+        if (request.state.get() == Request.STATE_COMPLETED) {
+            mCoalescedRequests.remove(request.coalescingKey, request);
+            promoteFollowers(request);
+            return false;
+        }
+        return true;
+    }
+
+    private void promoteFollowers(@NonNull Request leader) {
+        if (leader.followers.isEmpty()) {
+            return;
+        }
+        mExecutor.execute(() -> {
+            Request follower;
+            while ((follower = leader.followers.poll()) != null) {
+                if (follower.state.compareAndSet(Request.STATE_COALESCED, Request.STATE_DISPATCHING) &&
+                        coalesceRequest(follower) && !dispatchRequestMessage(follower, getServer(follower.methodUri))) {
+                    scheduleRetry(follower);
+                }
+            }
+        });
+    }
+
+    private void dispatchCoalescedResponseMessage(@NonNull Request leader, @NonNull UMessage responseMessage) {
+        Request follower;
+        while ((follower = leader.followers.poll()) != null) {
+            if (isExpired(follower.message.getAttributes())) {
+                failRequest(follower, UCode.DEADLINE_EXCEEDED, "Timeout while waiting for response");
+            } else if (completeRequest(follower)) {
+                mDispatcher.dispatchTo(rebuildResponseMessage(responseMessage, follower.message), follower.client);
+            }
+        }
+    }
+
+    private void dispatchRequestMessage(@NonNull UUID requestId) {
+        final Request request = mRequests.get(requestId);
+        if (request != null && request.state.compareAndSet(Request.STATE_POSTPONED, Request.STATE_DISPATCHING) &&
+                dispatchRequestMessage(request, getServer(request.methodUri))) {
+            removePostponedRequest(request);
+        }
+    }
+
+    private boolean dispatchRequestMessage(@NonNull Request request, Client server) {
+        Set<Client> failedServers = null;
+        while (server != null && request.state.get() == Request.STATE_DISPATCHING) {
+            final long dispatchStartTime = System.nanoTime();
+            request.dispatchTime = dispatchStartTime;
+            request.cacheGeneration = getResponseCacheGeneration(request.methodUri);
+            if (mDispatcher.dispatchTo(request.message, server)) {
+                onRequestDispatched(request, server, dispatchStartTime);
+                return true;
+            }
+            if (failedServers == null) {
+                failedServers = new HashSet<>();
+            }
+            failedServers.add(server);
+            server = selectServer(request.methodUri, failedServers);
+        }
+        if (request.state.compareAndSet(Request.STATE_DISPATCHING, Request.STATE_POSTPONED)) {
+            try {
+                addPostponedRequest(request);
+            } catch (UStatusException e) {
+                final UStatus status = toStatus(e);
+                failRequest(request, status.getCode(), status.getMessage());
+                return false;
+            }
+            if (request.state.get() == Request.STATE_COMPLETED) {
+                removePostponedRequest(request);
+            }
+        }
+        return false;
+    }
+
+    private void onRequestDispatched(@NonNull Request request, @NonNull Client server, long dispatchStartTime) {
+        final long dispatchEndTime = System.nanoTime();
+        final LatencyStats stats = getLatencyStats(request.methodUri);
+        stats.queueing.record(dispatchStartTime - request.timestamp, TimeUnit.NANOSECONDS);
+        stats.dispatch.record(dispatchEndTime - dispatchStartTime, TimeUnit.NANOSECONDS);
+        if (request.state.compareAndSet(Request.STATE_DISPATCHING, Request.STATE_DISPATCHED)) {
+            request.dispatchTime = dispatchEndTime;
+            request.server = server;
+            trackRequest(mRequestsByServer, server, request);
+            if (request.state.get() == Request.STATE_COMPLETED) {
+                untrackRequest(mRequestsByServer, server, request);
+            } else if (server.isReleased()) {
+                failServerRequests(server);
+            }
+        }
+    }
+
+    private boolean completeRequest(@NonNull Request request) {
+        if (!mRequests.remove(request.id, request)) {
+            return false;
+        }
+        if (request.state.getAndSet(Request.STATE_COMPLETED) == Request.STATE_POSTPONED) {
+            removePostponedRequest(request);
+        }
+        if (request.coalescingKey != null) {
+            mCoalescedRequests.remove(request.coalescingKey, request);
+        }
+        cancelTimeout(request);
+        untrackRequest(mRequestsByCaller, request.client, request);
+        untrackRequest(mRequestsByServer, request.server, request);
+        untrackRequest(mRequestsByMethod, request.methodUri, request);
+        return true;
+    }
+
+    private static void cancelTimeout(@NonNull Request request) {
+        final Timeout timeout = request.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
     }
 
     private void dispatchPostponedRequestMessages(@NonNull UUri methodUri) {
-        mRequests.values().stream()
-                .filter(request -> request.methodUri.equals(methodUri))
-                .forEach(request -> dispatchRequestMessage(request.message.getAttributes().getId()));
+        final Set<UUID> requestIds = mPostponedRequestsByMethod.remove(methodUri);
+        if (requestIds != null) {
+            requestIds.forEach(this::dispatchRequestMessage);
+        }
+    }
+
+    private void addPostponedRequest(@NonNull Request request) {
+        mPostponedRequestsByMethod.compute(request.methodUri, (key, requestIds) -> {
+            if (requestIds == null) {
+                requestIds = new LinkedHashSet<>();
+            }
+            checkArgument(mMaxPostponedRequests <= 0 || requestIds.size() < mMaxPostponedRequests ||
+                    requestIds.contains(request.id), UCode.RESOURCE_EXHAUSTED, "Too many requests waiting for server");
+            requestIds.add(request.id);
+            return requestIds;
+        });
+    }
+
+    private void removePostponedRequest(@NonNull Request request) {
+        mPostponedRequestsByMethod.computeIfPresent(request.methodUri, (key, requestIds) -> {
+            requestIds.remove(request.id);
+            return requestIds.isEmpty() ? null : requestIds;
+        });
+    }
+
+    private @NonNull LatencyStats getLatencyStats(@NonNull UUri methodUri) {
+        return mLatencyStats.computeIfAbsent(methodUri, key -> new LatencyStats());
+    }
+
+    @VisibleForTesting
+    int getPendingRequestCount() {
+        return mRequests.size();
+    }
+
+    @VisibleForTesting
+    int getCallerRequestCount(@NonNull Client client) {
+        return emptyIfNull(mRequestsByCaller.get(client)).size();
+    }
+
+    @VisibleForTesting
+    int getPostponedRequestCount(@NonNull UUri methodUri) {
+        return mPostponedRequestsByMethod.getOrDefault(methodUri, Set.of()).size();
     }
 
     @SuppressWarnings("DataFlowIssue")
@@ -249,12 +792,16 @@ class RpcHandler extends UBus.Component {
         try {
             checkAuthority(methodUri, server);
             checkArgument(!isExpired(responseMessage.getAttributes()), UCode.DEADLINE_EXCEEDED, "Message expired");
-            mRequests.compute(requestId, (key, request) -> {
-                checkNotNull(request, UCode.CANCELLED, "Request was either cancelled or expired");
-                request.timeoutFuture.cancel(false);
-                mDispatcher.dispatchTo(responseMessage, request.client);
-                return null;
-            });
+            final Request request = mRequests.get(requestId);
+            checkArgument(request != null && completeRequest(request), UCode.CANCELLED,
+                    "Request was either cancelled or expired");
+            cacheResponseMessage(request, responseMessage);
+            final LatencyStats stats = getLatencyStats(request.methodUri);
+            final long deliveryStartTime = System.nanoTime();
+            stats.processing.record(deliveryStartTime - request.dispatchTime, TimeUnit.NANOSECONDS);
+            mDispatcher.dispatchTo(responseMessage, request.client);
+            stats.delivery.record(System.nanoTime() - deliveryStartTime, TimeUnit.NANOSECONDS);
+            dispatchCoalescedResponseMessage(request, responseMessage);
             return STATUS_OK;
         } catch (Exception e) {
             return toStatus(e);
@@ -286,6 +833,10 @@ class RpcHandler extends UBus.Component {
         writer.println("  There are " + servers.size() + " RPC server(s)");
         servers.forEach(server -> writer.println("    " + server));
 
+        writer.println("  Retries: " + joinGrouped("attempts", mRetryCount.get(),
+                "succeeded", mRetrySucceededCount.get(), "failed", mRetryFailedCount.get(),
+                "exhausted", mRetryExhaustedCount.get()));
+
         dumpAllServers(writer);
     }
 
@@ -306,11 +857,34 @@ class RpcHandler extends UBus.Component {
                 sb.append("\n").append(Strings.repeat(" ", 11));
             }
             sb.append(stringify(methodUri));
+            final ServerPool pool = mServersByMethod.get(methodUri);
+            if (pool != null && pool.isPooled()) {
+                sb.append(" (").append(pool).append(")");
+            }
+            final MethodPolicy policy = mMethodPolicies.get(methodUri);
+            if (policy != null) {
+                sb.append(" ").append(policy);
+            }
+            final ResponseCache cache = mResponseCaches.get(methodUri);
+            if (cache != null) {
+                sb.append(" cache ").append(cache);
+            }
         });
         final String formattedMethods = sb.toString();
 
         writer.println("  --------");
         writer.println("   Server: " + server);
         writer.println("  Methods: " + formattedMethods);
+        writer.println("     Load: " + getLoad(server) + " outstanding request(s)");
+        getMethods(server).forEach(methodUri -> {
+            final LatencyStats stats = mLatencyStats.get(methodUri);
+            if (stats != null) {
+                writer.println("  Latency: " + stringify(methodUri));
+                writer.println("           queueing: " + stats.queueing);
+                writer.println("           dispatch: " + stats.dispatch);
+                writer.println("           processing: " + stats.processing);
+                writer.println("           delivery: " + stats.delivery);
+            }
+        });
     }
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.ubus;
+
+import static org.eclipse.uprotocol.core.ubus.UBus.FLAG_SERVER_POOL;
+import static org.eclipse.uprotocol.core.ubus.UBus.FLAG_SERVER_POOL_ROUND_ROBIN;
+
+import androidx.annotation.NonNull;
+
+import org.eclipse.uprotocol.core.ubus.client.Client;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+class ServerPool {
+    private final Policy mPolicy;
+    private final List<Client> mMembers = new CopyOnWriteArrayList<>();
+    private final AtomicInteger mNextIndex = new AtomicInteger();
+
+    enum Policy {
+        SINGLE,
+        LEAST_OUTSTANDING,
+        ROUND_ROBIN
+    }
+
+    ServerPool(@NonNull Policy policy) {
+        mPolicy = policy;
+    }
+
+    static @NonNull Policy getPolicy(int flags) {
+        if ((flags & FLAG_SERVER_POOL_ROUND_ROBIN) != 0) {
+            return Policy.ROUND_ROBIN;
+        } else if ((flags & FLAG_SERVER_POOL) != 0) {
+            return Policy.LEAST_OUTSTANDING;
+        } else {
+            return Policy.SINGLE;
+        }
+    }
+
+    @NonNull Policy getPolicy() {
+        return mPolicy;
+    }
+
+    boolean isPooled() {
+        return mPolicy != Policy.SINGLE;
+    }
+
+    boolean contains(@NonNull Client server) {
+        return mMembers.contains(server);
+    }
+
+    void add(@NonNull Client server) {
+        mMembers.add(server);
+    }
+
+    boolean remove(@NonNull Client server) {
+        return mMembers.remove(server);
+    }
+
+    void removeReleased() {
+        mMembers.removeIf(Client::isReleased);
+    }
+
+    boolean isEmpty() {
+        return mMembers.isEmpty();
+    }
+
+    int size() {
+        return mMembers.size();
+    }
+
+    @NonNull List<Client> getMembers() {
+        return mMembers;
+    }
+
+    Client select(@NonNull ToIntFunction<Client> load, @NonNull Collection<Client> excluded) {
+        final Object[] members = mMembers.toArray();
+        if (mPolicy == Policy.ROUND_ROBIN) {
+            final int start = mNextIndex.getAndIncrement() & Integer.MAX_VALUE;
+            for (int i = 0; i < members.length; i++) {
+                final Client member = (Client) members[(start + i) % members.length];
+                if (isAvailable(member, excluded)) {
+                    return member;
+                }
+            }
+            return null;
+        }
+        Client selected = null;
+        int selectedLoad = Integer.MAX_VALUE;
+        for (Object object : members) {
+            final Client member = (Client) object;
+            if (isAvailable(member, excluded)) {
+                final int memberLoad = load.applyAsInt(member);
+                if (memberLoad < selectedLoad) {
+                    selected = member;
+                    selectedLoad = memberLoad;
+                }
+            }
+        }
+        return selected;
+    }
+
+    private static boolean isAvailable(@NonNull Client member, @NonNull Collection<Client> excluded) {
+        return !member.isReleased() && !excluded.contains(member);
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return mPolicy.name().toLowerCase(Locale.US) + ", " + mMembers.size() + " member(s)";
+    }
+}
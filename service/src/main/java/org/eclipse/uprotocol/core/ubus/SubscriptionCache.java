@@ -26,6 +26,7 @@ package org.eclipse.uprotocol.core.ubus;
 import static org.eclipse.uprotocol.core.internal.util.CommonUtils.emptyIfNull;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import org.eclipse.uprotocol.core.usubscription.USubscription;
 import org.eclipse.uprotocol.uri.validator.UriValidator;
@@ -35,17 +36,30 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 class SubscriptionCache {
     private final Map<UUri, Set<UUri>> mSubscribersByTopic = new ConcurrentHashMap<>();
     private final Map<UUri, UUri> mPublisherByTopic = new ConcurrentHashMap<>();
     private USubscription mService;
+    private volatile Consumer<UUri> mChangeListener;
 
     public void setService(USubscription service) {
         mService = service;
     }
 
+    public void setChangeListener(@Nullable Consumer<UUri> listener) {
+        mChangeListener = listener;
+    }
+
+    private void notifyChanged(@NonNull UUri topic) {
+        final Consumer<UUri> listener = mChangeListener;
+        if (listener != null) {
+            listener.accept(topic);
+        }
+    }
+
     public @NonNull Set<UUri> getSubscribers(@NonNull UUri topic) {
         return mSubscribersByTopic.computeIfAbsent(topic, key -> {
             final USubscription service = mService;
@@ -57,11 +71,19 @@ class SubscriptionCache {
     }
 
     public boolean addSubscriber(@NonNull UUri topic, @NonNull UUri clientUri) {
-        return getSubscribers(topic).add(clientUri);
+        final boolean added = getSubscribers(topic).add(clientUri);
+        if (added) {
+            notifyChanged(topic);
+        }
+        return added;
     }
 
     public boolean removeSubscriber(@NonNull UUri topic, @NonNull UUri clientUri) {
-        return getSubscribers(topic).remove(clientUri);
+        final boolean removed = getSubscribers(topic).remove(clientUri);
+        if (removed) {
+            notifyChanged(topic);
+        }
+        return removed;
     }
 
     public boolean isTopicSubscribed(@NonNull UUri topic, @NonNull UUri clientUri) {
@@ -88,7 +110,9 @@ class SubscriptionCache {
     }
 
     public boolean removeTopic(@NonNull UUri topic) {
-        mSubscribersByTopic.remove(topic);
+        if (mSubscribersByTopic.remove(topic) != null) {
+            notifyChanged(topic);
+        }
         final UUri oldClientUri = mPublisherByTopic.put(topic, UUri.getDefaultInstance()); // Do not remove mapping
         return oldClientUri != null && !UriValidator.isEmpty(oldClientUri);
     }
@@ -105,8 +129,10 @@ class SubscriptionCache {
     }
 
     public void clear() {
+        final Set<UUri> topics = Set.copyOf(mSubscribersByTopic.keySet());
         mSubscribersByTopic.clear();
         mPublisherByTopic.clear();
+        topics.forEach(this::notifyChanged);
     }
 
     public boolean isEmpty() {
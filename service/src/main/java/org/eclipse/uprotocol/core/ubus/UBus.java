@@ -49,6 +49,7 @@ import androidx.annotation.VisibleForTesting;
 import org.eclipse.uprotocol.common.util.log.Key;
 import org.eclipse.uprotocol.core.UCore;
 import org.eclipse.uprotocol.core.internal.handler.MessageHandler;
+import org.eclipse.uprotocol.core.internal.util.HashedWheelTimer;
 import org.eclipse.uprotocol.core.ubus.client.Client;
 import org.eclipse.uprotocol.core.ubus.client.ClientManager;
 import org.eclipse.uprotocol.transport.UListener;
@@ -60,6 +61,7 @@ import org.eclipse.uprotocol.v1.UUri;
 
 import java.io.PrintWriter;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @SuppressWarnings("java:S3008")
 public class UBus extends UCore.Component {
@@ -67,12 +69,22 @@ public class UBus extends UCore.Component {
             .setName("core.ubus")
             .setVersionMajor(1)
             .build();
+    public static final int FLAG_CONFLATE_DELIVERY = 0x20000;
+    public static final int FLAG_SERVER_POOL = 0x40000;
+    public static final int FLAG_SERVER_POOL_ROUND_ROBIN = 0x80000;
+    public static final int FLAG_CACHE_RESPONSES = 0x100000;
+    public static final int FLAG_COALESCE_REQUESTS = 0x200000;
+    // Exposed for pre-serialized transactions, the generated constant is package-private
+    public static final int TRANSACTION_ON_RECEIVE = IUListener.Stub.TRANSACTION_onReceive;
+    private static final int TIMER_TICK_MS = 10;
+    private static final int TIMER_WHEEL_SIZE = 512;
 
     private final IBinder mClientToken = new Binder();
     private final Context mContext;
     private final ClientManager mClientManager;
     private final MessageHandler mMessageHandler;
     private final Dispatcher mDispatcher;
+    private final HashedWheelTimer mTimer;
     private final Components mComponents;
 
     public abstract static class Component {
@@ -123,6 +135,10 @@ public class UBus extends UCore.Component {
             return mDispatcher;
         }
 
+        public @NonNull HashedWheelTimer getTimer() {
+            return mTimer;
+        }
+
         void init(@NonNull UCore uCore) {
             mUCore = uCore;
             mDependentComponents.forEach(component -> component.init(this));
@@ -151,6 +167,7 @@ public class UBus extends UCore.Component {
         mMessageHandler = new MessageHandler(this, ENTITY, mClientToken);
         mClientManager = ofNullable(clientManager).orElseGet(() -> new ClientManager(context));
         mDispatcher = ofNullable(dispatcher).orElseGet(Dispatcher::new);
+        mTimer = new HashedWheelTimer("ubus-timer", TIMER_TICK_MS, TimeUnit.MILLISECONDS, TIMER_WHEEL_SIZE);
         mComponents = new Components();
     }
 
@@ -171,6 +188,7 @@ public class UBus extends UCore.Component {
     protected void shutdown() {
         Log.i(TAG, join(Key.EVENT, "Service shutdown"));
         mComponents.shutdown();
+        mTimer.stop();
     }
 
     @Override
@@ -184,6 +202,10 @@ public class UBus extends UCore.Component {
         return mComponents.mDependentComponents;
     }
 
+    public @NonNull HashedWheelTimer getTimer() {
+        return mTimer;
+    }
+
     public @NonNull UAuthority getDeviceAuthority() {
         // TODO: Get VIN...
         return UAuthority.getDefaultInstance();
@@ -244,12 +266,22 @@ public class UBus extends UCore.Component {
         }
     }
 
+    public @NonNull UStatus setMethodPolicy(@NonNull UUri methodUri, @NonNull MethodPolicy policy,
+            @NonNull IBinder clientToken) {
+        try {
+            return mDispatcher.setMethodPolicy(methodUri, policy, mClientManager.getClientOrThrow(clientToken));
+        } catch (Exception e) {
+            return toStatus(e);
+        }
+    }
+
     public boolean isTopicCreated(@NonNull UUri topic, @NonNull UUri clientUri) {
         return mDispatcher.getSubscriptionCache().isTopicCreated(topic, clientUri);
     }
 
     @Override
     protected void dump(@NonNull PrintWriter writer, String[] args) {
+        mClientManager.dump(writer, args);
         mDispatcher.dump(writer, args);
     }
 }
@@ -24,10 +24,13 @@
 package org.eclipse.uprotocol.core.ubus.client;
 
 import static org.eclipse.uprotocol.common.util.UStatusUtils.checkNotNull;
+import static org.eclipse.uprotocol.core.ubus.UBus.TRANSACTION_ON_RECEIVE;
 
+import android.os.Binder;
 import android.os.IBinder;
 import android.os.IBinder.DeathRecipient;
 import android.os.IInterface;
+import android.os.Parcel;
 import android.os.RemoteException;
 
 import androidx.annotation.NonNull;
@@ -37,6 +40,8 @@ import org.eclipse.uprotocol.v1.UMessage;
 import org.eclipse.uprotocol.v1.internal.ParcelableUMessage;
 
 public abstract class BindingClient<T extends IInterface> extends Client {
+    private static final String LISTENER_DESCRIPTOR = IUListener.class.getName();
+
     protected final T mListener;
 
     private BindingClient(@NonNull Credentials credentials, @NonNull IBinder token,
@@ -63,6 +68,28 @@ public abstract class BindingClient<T extends IInterface> extends Client {
             public void send(@NonNull UMessage message) throws RemoteException {
                 mListener.onReceive(new ParcelableUMessage(message));
             }
+
+            @Override
+            public void send(@NonNull SerializedMessage message) throws RemoteException {
+                final IBinder binder = mListener.asBinder();
+                if (binder == null || binder instanceof Binder) {
+                    // Local listener, nothing is marshalled
+                    mListener.onReceive(message.getParcelable());
+                } else {
+                    transact(binder, message);
+                }
+            }
         };
     }
+
+    private static void transact(@NonNull IBinder binder, @NonNull SerializedMessage message) throws RemoteException {
+        final Parcel data = Parcel.obtain();
+        try {
+            data.writeInterfaceToken(LISTENER_DESCRIPTOR);
+            message.writeTo(data);
+            binder.transact(TRANSACTION_ON_RECEIVE, data, null, IBinder.FLAG_ONEWAY);
+        } finally {
+            data.recycle();
+        }
+    }
 }
@@ -49,6 +49,7 @@ public abstract class Client {
     private final IBinder mToken;
     private final DeathRecipient mDeathRecipient;
     private final AtomicBoolean mReleased = new AtomicBoolean(false);
+    private final ClientHealth mHealth = new ClientHealth();
 
     protected Client(@NonNull Credentials credentials, @NonNull IBinder token,
             @Nullable DeathRecipient recipient) {
@@ -107,10 +108,18 @@ public abstract class Client {
 
     public abstract boolean isInternal();
 
+    public @NonNull ClientHealth getHealth() {
+        return mHealth;
+    }
+
     public abstract @NonNull Object getListener();
 
     public abstract void send(@NonNull UMessage message) throws RemoteException;
 
+    public void send(@NonNull SerializedMessage message) throws RemoteException {
+        send(message.getMessage());
+    }
+
     public @NonNull String toString() {
         return joinGrouped(Key.PID, mCredentials.getPid(), Key.UID, mCredentials.getUid(),
                 Key.PACKAGE, quote(mCredentials.getPackageName()), Key.ENTITY, stringify(mCredentials.getEntity()),
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.ubus.client;
+
+import static org.eclipse.uprotocol.common.util.log.Formatter.joinGrouped;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+public class ClientHealth {
+    private static final float SMOOTHING_FACTOR = 0.2f;
+
+    private final LongSupplier mTicker;
+    private final Object mLock = new Object();
+    @GuardedBy("mLock")
+    private State mState = State.HEALTHY;
+    @GuardedBy("mLock")
+    private String mReason = "";
+    @GuardedBy("mLock")
+    private long mSampleCount;
+    @GuardedBy("mLock")
+    private float mAverageSendNanos;
+    @GuardedBy("mLock")
+    private float mFailureRate;
+    @GuardedBy("mLock")
+    private int mConsecutiveFailures;
+    @GuardedBy("mLock")
+    private long mOpenedTime;
+    @GuardedBy("mLock")
+    private boolean mProbing;
+    @GuardedBy("mLock")
+    private long mFailureCount;
+    @GuardedBy("mLock")
+    private long mRejectedCount;
+
+    public enum State {
+        HEALTHY,
+        DEGRADED,
+        OPEN
+    }
+
+    // Listener calls are oneway, so the send time only covers local marshalling and the binder enqueue. A client
+    // that stops reading shows up through failed transactions (dead object, exhausted async buffer) instead.
+    public static class Policy {
+        public static final Policy DEFAULT = new Policy(100, 50, 5, 5000, 10);
+
+        final long slowSendNanos;
+        final float failureRate;
+        final int openAfterFailures;
+        final long openNanos;
+        final int minSamples;
+
+        public Policy(long slowSendMs, int failureRatePercent, int openAfterFailures, long openMs, int minSamples) {
+            this.slowSendNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(slowSendMs, 1));
+            this.failureRate = Math.max(1, Math.min(failureRatePercent, 100)) / 100f;
+            this.openAfterFailures = Math.max(openAfterFailures, 1);
+            this.openNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(openMs, 0));
+            this.minSamples = Math.max(minSamples, 1);
+        }
+    }
+
+    public ClientHealth() {
+        this(System::nanoTime);
+    }
+
+    @VisibleForTesting
+    ClientHealth(@NonNull LongSupplier ticker) {
+        mTicker = ticker;
+    }
+
+    public boolean allowSend(@NonNull Policy policy) {
+        synchronized (mLock) {
+            if (mState != State.OPEN) {
+                return true;
+            }
+            if (!mProbing && mTicker.getAsLong() - mOpenedTime >= policy.openNanos) {
+                mProbing = true;
+                return true;
+            }
+            mRejectedCount++;
+            return false;
+        }
+    }
+
+    public boolean onSendSucceeded(long durationNanos, @NonNull Policy policy) {
+        synchronized (mLock) {
+            mConsecutiveFailures = 0;
+            mAverageSendNanos = smooth(mAverageSendNanos, durationNanos);
+            mFailureRate = smooth(mFailureRate, 0);
+            mSampleCount++;
+            if (mState == State.OPEN) {
+                mProbing = false;
+                return setState(State.DEGRADED, "Probe succeeded");
+            }
+            return evaluate(policy);
+        }
+    }
+
+    public boolean onSendFailed(@NonNull Policy policy) {
+        synchronized (mLock) {
+            mConsecutiveFailures++;
+            mFailureCount++;
+            mFailureRate = smooth(mFailureRate, 1);
+            mSampleCount++;
+            if (mState == State.OPEN) {
+                mProbing = false;
+                mOpenedTime = mTicker.getAsLong();
+                return false;
+            }
+            if (mConsecutiveFailures >= policy.openAfterFailures) {
+                mOpenedTime = mTicker.getAsLong();
+                return setState(State.OPEN, mConsecutiveFailures + " consecutive failures");
+            }
+            return evaluate(policy);
+        }
+    }
+
+    @GuardedBy("mLock")
+    private boolean evaluate(@NonNull Policy policy) {
+        if (mSampleCount < policy.minSamples) {
+            return false;
+        }
+        if (mAverageSendNanos > policy.slowSendNanos) {
+            return setState(State.DEGRADED, String.format(Locale.US, "Slow send %.1fms", mAverageSendNanos / 1e6));
+        }
+        if (mFailureRate > policy.failureRate) {
+            return setState(State.DEGRADED, String.format(Locale.US, "Failure rate %.0f%%", mFailureRate * 100));
+        }
+        // Recover with hysteresis to avoid flapping around the thresholds
+        if (mState == State.DEGRADED && mAverageSendNanos < policy.slowSendNanos / 2f &&
+                mFailureRate < policy.failureRate / 2) {
+            return setState(State.HEALTHY, "Recovered");
+        }
+        return false;
+    }
+
+    @GuardedBy("mLock")
+    private boolean setState(@NonNull State state, @NonNull String reason) {
+        if (mState == state) {
+            return false;
+        }
+        mState = state;
+        mReason = reason;
+        return true;
+    }
+
+    private static float smooth(float average, float value) {
+        return average + SMOOTHING_FACTOR * (value - average);
+    }
+
+    public @NonNull State getState() {
+        synchronized (mLock) {
+            return mState;
+        }
+    }
+
+    public @NonNull String getReason() {
+        synchronized (mLock) {
+            return mReason;
+        }
+    }
+
+    public boolean isDegraded() {
+        return getState() != State.HEALTHY;
+    }
+
+    @Override
+    public @NonNull String toString() {
+        synchronized (mLock) {
+            return joinGrouped("state", mState, "reason", mReason,
+                    "send", String.format(Locale.US, "%.2fms", mAverageSendNanos / 1e6),
+                    "failureRate", String.format(Locale.US, "%.0f%%", mFailureRate * 100),
+                    "failures", mFailureCount, "rejected", mRejectedCount);
+        }
+    }
+}
@@ -46,10 +46,14 @@ import static org.eclipse.uprotocol.core.internal.util.CommonUtils.emptyIfNull;
 import static org.eclipse.uprotocol.core.internal.util.UUriUtils.isLocalUri;
 import static org.eclipse.uprotocol.core.internal.util.log.FormatterExt.stringify;
 
+import android.content.BroadcastReceiver;
 import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
 import android.content.pm.PackageInfo;
 import android.content.pm.PackageItemInfo;
 import android.content.pm.PackageManager;
+import android.net.Uri;
 import android.os.IBinder;
 import android.os.IBinder.DeathRecipient;
 import android.util.ArraySet;
@@ -69,37 +73,138 @@ import org.eclipse.uprotocol.v1.UEntity;
 import org.eclipse.uprotocol.v1.UStatus;
 import org.eclipse.uprotocol.v1.UUri;
 
+import java.io.PrintWriter;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 
 public class ClientManager extends UBus.Component {
     private static final String TAG = tag(UBus.Component.TAG, "ClientManager");
     public static final String REMOTE_CLIENT_NAME = "core.ustreamer";
 
+    // Writers are serialized by mLock, readers access the map and the remote client without locking
     private final Object mLock = new Object();
-    @GuardedBy("mLock")
-    private final Map<IBinder, Client> mClients = new HashMap<>();
-    @GuardedBy("mLock")
-    private Client mRemoteClient;
+    private final Map<IBinder, Client> mClients = new ConcurrentHashMap<>();
+    private volatile Client mRemoteClient;
     private final Set<RegistrationListener> mRegistrationListeners = ConcurrentHashMap.newKeySet();
+    private final Queue<Client> mReleasedClients = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean mCleanupScheduled = new AtomicBoolean();
+    private final ExecutorService mCleanupExecutor = Executors.newSingleThreadExecutor();
+    private final Context mContext;
     private final PackageManager mPackageManager;
+    @GuardedBy("mVerifiedCredentials")
+    private final Set<VerifiedCredentials> mVerifiedCredentials = new ArraySet<>();
+    @GuardedBy("mVerifiedCredentials")
+    private int mVerifiedCredentialsGeneration;
+    private final BroadcastReceiver mPackageReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            final Uri data = intent.getData();
+            if (data != null) {
+                invalidateVerifiedCredentials(data.getSchemeSpecificPart());
+            }
+        }
+    };
+    private boolean mPackageReceiverRegistered;
 
     public ClientManager(@NonNull Context context) {
+        mContext = context;
         mPackageManager = context.getPackageManager();
     }
 
+    @Override
+    protected void init(@NonNull UBus.Components components) {
+        final IntentFilter filter = new IntentFilter();
+        filter.addAction(Intent.ACTION_PACKAGE_ADDED);
+        filter.addAction(Intent.ACTION_PACKAGE_REPLACED);
+        filter.addAction(Intent.ACTION_PACKAGE_REMOVED);
+        filter.addDataScheme("package");
+        mContext.registerReceiver(mPackageReceiver, filter);
+        mPackageReceiverRegistered = true;
+    }
+
     @Override
     public void shutdown() {
+        if (mPackageReceiverRegistered) {
+            mContext.unregisterReceiver(mPackageReceiver);
+            mPackageReceiverRegistered = false;
+        }
         synchronized (mLock) {
             mClients.values().forEach(Client::release);
             mClients.clear();
         }
+        mCleanupExecutor.shutdown();
+        mReleasedClients.clear();
         mRegistrationListeners.clear();
+        clearCache();
+    }
+
+    @Override
+    protected void clearCache() {
+        invalidateVerifiedCredentials(null);
+    }
+
+    private static class VerifiedCredentials {
+        final String packageName;
+        final int uid;
+        final UEntity entity;
+
+        VerifiedCredentials(@NonNull Credentials credentials) {
+            packageName = credentials.getPackageName();
+            uid = credentials.getUid();
+            entity = credentials.getEntity();
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof VerifiedCredentials other)) {
+                return false;
+            }
+            return uid == other.uid && packageName.equals(other.packageName) && entity.equals(other.entity);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(packageName, uid, entity);
+        }
+    }
+
+    @VisibleForTesting
+    @NonNull BroadcastReceiver getPackageReceiver() {
+        return mPackageReceiver;
+    }
+
+    @VisibleForTesting
+    boolean isVerified(@NonNull Credentials credentials) {
+        synchronized (mVerifiedCredentials) {
+            return mVerifiedCredentials.contains(new VerifiedCredentials(credentials));
+        }
+    }
+
+    private void invalidateVerifiedCredentials(String packageName) {
+        synchronized (mVerifiedCredentials) {
+            mVerifiedCredentialsGeneration++;
+            if (packageName == null) {
+                mVerifiedCredentials.clear();
+            } else {
+                mVerifiedCredentials.removeIf(credentials -> credentials.packageName.equals(packageName));
+            }
+        }
     }
 
     public interface RegistrationListener {
@@ -125,7 +230,43 @@ public class ClientManager extends UBus.Component {
     }
 
     private void notifyUnregistered(@NonNull Client client) {
-        mRegistrationListeners.forEach((listener -> listener.onClientUnregistered(client)));
+        mReleasedClients.add(client);
+        if (mCleanupScheduled.compareAndSet(false, true) && !mCleanupExecutor.isShutdown()) {
+            mCleanupExecutor.execute(this::cleanupReleasedClients);
+        }
+    }
+
+    private void cleanupReleasedClients() {
+        mCleanupScheduled.set(false);
+        int count = 0;
+        Client client;
+        while ((client = mReleasedClients.poll()) != null) {
+            final Client releasedClient = client;
+            mRegistrationListeners.forEach((listener -> listener.onClientUnregistered(releasedClient)));
+            count++;
+        }
+        if (DEBUG && count > 0) {
+            Log.d(TAG, join(Key.EVENT, "Released clients cleaned up", "count", count));
+        }
+    }
+
+    @VisibleForTesting
+    int getPendingCleanupCount() {
+        return mReleasedClients.size();
+    }
+
+    @VisibleForTesting
+    public boolean awaitCleanup(long timeout, @NonNull TimeUnit unit) {
+        // The cleanup executor is single-threaded, so an empty task completes after all pending cleanups
+        try {
+            mCleanupExecutor.submit(() -> {}).get(timeout, unit);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException | RejectedExecutionException e) {
+            return false;
+        }
     }
 
     @SuppressWarnings("java:S2201")
@@ -134,6 +275,14 @@ public class ClientManager extends UBus.Component {
             return;
         }
         checkArgument(isLocalUri(credentials.getUri()), UCode.UNAUTHENTICATED, "Client URI authority is not local");
+        final VerifiedCredentials key = new VerifiedCredentials(credentials);
+        final int generation;
+        synchronized (mVerifiedCredentials) {
+            if (mVerifiedCredentials.contains(key)) {
+                return;
+            }
+            generation = mVerifiedCredentialsGeneration;
+        }
         final UEntity entity = credentials.getUri().getEntity();
         Arrays.stream(emptyIfNull(mPackageManager.getPackagesForUid(credentials.getUid())))
                 .filter(packageName -> credentials.getPackageName().equals(packageName))
@@ -149,6 +298,11 @@ public class ClientManager extends UBus.Component {
                 .findFirst()
                 .orElseThrow(() -> new UStatusException(UCode.UNAUTHENTICATED, "Missing or not matching '" +
                         META_DATA_ENTITY_NAME + "' and '" + META_DATA_ENTITY_VERSION + "' meta-data in manifest"));
+        synchronized (mVerifiedCredentials) {
+            if (generation == mVerifiedCredentialsGeneration) {
+                mVerifiedCredentials.add(key);
+            }
+        }
     }
 
     private static boolean containsEntity(@NonNull PackageInfo packageInfo, @NonNull UEntity entity) {
@@ -211,19 +365,20 @@ public class ClientManager extends UBus.Component {
             checkArgument(entity.hasVersionMajor(), "Entity version is empty");
             checkNotNull(clientToken, "Client token is null");
             checkNotNull(listener, "Listener is null");
-            Client client;
+            Client client = mClients.get(clientToken);
+            if (isAlreadyRegistered(client, listener)) {
+                return STATUS_OK;
+            }
+            final Credentials credentials =
+                    new Credentials(packageName, getCallingPid(), getCallingUid(), UUri.newBuilder()
+                            .setEntity(entity)
+                            .build());
+            checkCallerCredentials(credentials);
             synchronized (mLock) {
-                client = getClient(clientToken);
-                if (client != null) {
-                    checkArgument(client.getListener() == listener,
-                            "Client is already registered with a different listener");
+                client = mClients.get(clientToken);
+                if (isAlreadyRegistered(client, listener)) {
                     return STATUS_OK;
                 }
-                final Credentials credentials =
-                        new Credentials(packageName, getCallingPid(), getCallingUid(), UUri.newBuilder()
-                                .setEntity(entity)
-                                .build());
-                checkCallerCredentials(credentials);
                 client = newClient(credentials, clientToken, listener);
                 mClients.put(clientToken, client);
                 if (client.isRemote()) {
@@ -239,6 +394,14 @@ public class ClientManager extends UBus.Component {
         }
     }
 
+    private static <T> boolean isAlreadyRegistered(Client client, @NonNull T listener) {
+        if (client == null) {
+            return false;
+        }
+        checkArgument(client.getListener() == listener, "Client is already registered with a different listener");
+        return true;
+    }
+
     public UStatus unregisterClient(@NonNull IBinder clientToken) {
         try {
             Client client;
@@ -264,30 +427,33 @@ public class ClientManager extends UBus.Component {
     }
 
     public Set<Client> getClients() {
-        synchronized (mLock) {
-            return new ArraySet<>(mClients.values());
-        }
+        return new ArraySet<>(mClients.values());
     }
 
     public Client getClient(@NonNull IBinder clientToken) {
-        synchronized (mLock) {
-            return mClients.get(checkNotNull(clientToken, UCode.UNAUTHENTICATED, "Token is null"));
-        }
+        return mClients.get(checkNotNull(clientToken, UCode.UNAUTHENTICATED, "Token is null"));
     }
 
     public @NonNull Client getClientOrThrow(@NonNull IBinder clientToken) {
-        synchronized (mLock) {
-            return checkNotNull(getClient(clientToken), UCode.UNAUTHENTICATED, "Client is not registered");
-        }
+        return checkNotNull(getClient(clientToken), UCode.UNAUTHENTICATED, "Client is not registered");
     }
 
     public Client getRemoteClient() {
-        synchronized (mLock) {
-            return mRemoteClient;
-        }
+        return mRemoteClient;
     }
 
     public static boolean isRemoteClient(@NonNull UEntity entity) {
         return entity.getName().equals(REMOTE_CLIENT_NAME);
     }
+
+    public void dump(@NonNull PrintWriter writer, String[] args) {
+        if (emptyIfNull(args).length > 0) {
+            return;
+        }
+        writer.println("  ========");
+        writer.println("  Client health:");
+        getClients().stream()
+                .filter(client -> !client.isInternal())
+                .forEach(client -> writer.println("    " + client + ": " + client.getHealth()));
+    }
 }
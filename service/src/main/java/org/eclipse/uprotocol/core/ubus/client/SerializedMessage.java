@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.ubus.client;
+
+import android.os.Parcel;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.internal.ParcelableUMessage;
+
+public final class SerializedMessage {
+    private final UMessage mMessage;
+    private final Object mLock = new Object();
+    @GuardedBy("mLock")
+    private ParcelableUMessage mParcelable;
+    @GuardedBy("mLock")
+    private byte[] mData;
+    @GuardedBy("mLock")
+    private int mSerializationCount;
+
+    public SerializedMessage(@NonNull UMessage message) {
+        mMessage = message;
+    }
+
+    public @NonNull UMessage getMessage() {
+        return mMessage;
+    }
+
+    public @NonNull ParcelableUMessage getParcelable() {
+        synchronized (mLock) {
+            if (mParcelable == null) {
+                mParcelable = new ParcelableUMessage(mMessage);
+            }
+            return mParcelable;
+        }
+    }
+
+    public @NonNull byte[] getData() {
+        synchronized (mLock) {
+            if (mData == null) {
+                final Parcel parcel = Parcel.obtain();
+                try {
+                    parcel.writeInt(1); // Non-null typed object, as written by AIDL
+                    getParcelable().writeToParcel(parcel, 0);
+                    mData = parcel.marshall();
+                    mSerializationCount++;
+                } finally {
+                    parcel.recycle();
+                }
+            }
+            return mData;
+        }
+    }
+
+    public void writeTo(@NonNull Parcel parcel) {
+        final byte[] data = getData();
+        final Parcel source = Parcel.obtain();
+        try {
+            source.unmarshall(data, 0, data.length);
+            parcel.appendFrom(source, 0, data.length);
+        } finally {
+            source.recycle();
+        }
+    }
+
+    @VisibleForTesting
+    int getSerializationCount() {
+        synchronized (mLock) {
+            return mSerializationCount;
+        }
+    }
+}
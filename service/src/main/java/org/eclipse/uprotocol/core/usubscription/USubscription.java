@@ -53,6 +53,7 @@ import androidx.annotation.VisibleForTesting;
 import org.eclipse.uprotocol.common.util.log.Key;
 import org.eclipse.uprotocol.core.UCore;
 import org.eclipse.uprotocol.core.internal.handler.MessageHandler;
+import org.eclipse.uprotocol.core.ubus.MethodPolicy;
 import org.eclipse.uprotocol.core.ubus.UBus;
 import org.eclipse.uprotocol.core.usubscription.v3.Update;
 import org.eclipse.uprotocol.transport.builder.UAttributesBuilder;
@@ -152,6 +153,8 @@ public class USubscription extends UCore.Component {
         mMessageHandler.registerListener(Method.SUBSCRIBE.localUri(), this::subscribe);
         mMessageHandler.registerListener(Method.UNSUBSCRIBE.localUri(), this::unsubscribe);
         mMessageHandler.registerListener(Method.FETCH_SUBSCRIPTIONS.localUri(), this::fetchSubscriptions);
+        mUBus.setMethodPolicy(Method.FETCH_SUBSCRIBERS.localUri(),
+                new MethodPolicy.Builder().setCoalescing(true).build(), mClientToken);
         mMessageHandler.registerListener(Method.FETCH_SUBSCRIBERS.localUri(), this::fetchSubscribers);
         mMessageHandler.registerListener(Method.REGISTER_FOR_NOTIFICATIONS.localUri(), this::registerForNotifications);
         mMessageHandler.registerListener(Method.UNREGISTER_FOR_NOTIFICATIONS.localUri(), this::unregisterForNotifications);
@@ -49,6 +49,8 @@ import org.eclipse.uprotocol.common.UStatusException;
 import org.eclipse.uprotocol.common.util.log.Key;
 import org.eclipse.uprotocol.core.UCore;
 import org.eclipse.uprotocol.core.internal.handler.MessageHandler;
+import org.eclipse.uprotocol.core.internal.util.ShardedExecutor;
+import org.eclipse.uprotocol.core.ubus.MethodPolicy;
 import org.eclipse.uprotocol.core.ubus.UBus;
 import org.eclipse.uprotocol.core.utwin.v2.GetLastMessagesResponse;
 import org.eclipse.uprotocol.core.utwin.v2.MessageResponse;
@@ -63,14 +65,13 @@ import org.eclipse.uprotocol.v1.UUriBatch;
 
 import java.util.Set;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 @SuppressWarnings("java:S3008")
 public class UTwin extends UCore.Component {
     public static final UEntity SERVICE = org.eclipse.uprotocol.core.utwin.v2.UTwin.SERVICE;
+    private static final int HANDLER_THREAD_COUNT = 4;
 
     protected static final String TAG = tag(SERVICE.getName());
     protected static boolean VERBOSE = Log.isLoggable(TAG, Log.VERBOSE);
@@ -94,7 +95,7 @@ public class UTwin extends UCore.Component {
     }
 
     private final IBinder mClientToken = new Binder();
-    private final ExecutorService mExecutor = Executors.newCachedThreadPool();
+    private final ShardedExecutor mExecutor = new ShardedExecutor("utwin", HANDLER_THREAD_COUNT);
     private final MessageCache mMessageCache = new MessageCache();
     private UBus mUBus;
     private MessageHandler mMessageHandler;
@@ -107,6 +108,8 @@ public class UTwin extends UCore.Component {
         mUBus = uCore.getUBus();
         mMessageHandler = new MessageHandler(mUBus, SERVICE, mClientToken, mExecutor);
         mUBus.registerClient(SERVICE, mClientToken, mMessageHandler);
+        mUBus.setMethodPolicy(Method.GET_LAST_MESSAGES.localUri(),
+                new MethodPolicy.Builder().setCoalescing(true).build(), mClientToken);
         mMessageHandler.registerListener(Method.GET_LAST_MESSAGES.localUri(), this::getLastMessages);
         mMessageHandler.registerListener(Method.SET_LAST_MESSAGE.localUri(), this::setLastMessage);
     }
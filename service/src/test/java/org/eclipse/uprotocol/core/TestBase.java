@@ -30,6 +30,8 @@ import static org.eclipse.uprotocol.core.ubus.client.ClientManager.REMOTE_CLIENT
 import static org.eclipse.uprotocol.transport.builder.UPayloadBuilder.packToAny;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.Mockito.mock;
 
 import android.content.ComponentName;
@@ -69,6 +71,7 @@ import org.junit.function.ThrowingRunnable;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
 @SuppressWarnings({"SameParameterValue"})
 public class TestBase {
@@ -371,6 +374,18 @@ public class TestBase {
         } catch (Exception ignored) {}
     }
 
+    protected static void assumeBenchmarkEnabled() {
+        assumeTrue("Benchmarks are disabled, run with -Pbenchmark", Boolean.getBoolean("uprotocol.benchmark"));
+    }
+
+    protected static void assertEventually(@NonNull BooleanSupplier condition) {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DELAY_LONG_MS);
+        while (!condition.getAsBoolean()) {
+            assertTrue("Condition is not met in " + DELAY_LONG_MS + " ms", System.nanoTime() - deadline < 0);
+            Thread.yield();
+        }
+    }
+
     protected static class MockListener extends IUListener.Stub {
         public MockListener() {}
 
@@ -25,6 +25,7 @@ package org.eclipse.uprotocol.core.internal.handler;
 
 import static org.eclipse.uprotocol.common.util.UStatusUtils.STATUS_OK;
 import static org.eclipse.uprotocol.common.util.UStatusUtils.buildStatus;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -44,6 +45,7 @@ import android.os.IBinder;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 
 import org.eclipse.uprotocol.core.TestBase;
+import org.eclipse.uprotocol.core.internal.util.ShardedExecutor;
 import org.eclipse.uprotocol.core.ubus.UBus;
 import org.eclipse.uprotocol.transport.UListener;
 import org.eclipse.uprotocol.v1.UAttributes;
@@ -55,7 +57,13 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @RunWith(AndroidJUnit4.class)
 public class MessageHandlerTest extends TestBase {
@@ -78,6 +86,47 @@ public class MessageHandlerTest extends TestBase {
         assertNotNull(mMessageHandler.getRpcExecutor());
     }
 
+    @Test
+    public void testGetQueueSizes() {
+        assertEquals(List.of(), mMessageHandler.getQueueSizes());
+    }
+
+    @Test
+    public void testGetQueueSizesThreadPool() {
+        final ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(1);
+        try {
+            mMessageHandler = new MessageHandler(mUBus, CLIENT, mClientToken, executor);
+            assertEquals(List.of(0), mMessageHandler.getQueueSizes());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testGetQueueSizesSharded() throws InterruptedException {
+        final ShardedExecutor executor = new ShardedExecutor("test", 2);
+        mMessageHandler = new MessageHandler(mUBus, CLIENT, mClientToken, executor);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final UListener listener = message -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        assertTrue(mMessageHandler.registerListener(RESOURCE_URI, listener));
+        mMessageHandler.onReceive(buildPublishMessage(RESOURCE_URI));
+        mMessageHandler.onReceive(buildPublishMessage(RESOURCE_URI));
+        mMessageHandler.onReceive(buildPublishMessage(RESOURCE_URI));
+        sleep(DELAY_MS);
+        final List<Integer> sizes = mMessageHandler.getQueueSizes();
+        assertEquals(2, sizes.size());
+        assertEquals(2, (int) sizes.get(executor.getShardIndex(RESOURCE_URI)));
+        blocker.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(DELAY_MS, TimeUnit.MILLISECONDS));
+    }
+
     @Test
     public void testRegisterGenericListener() {
         assertTrue(mMessageHandler.registerListener(RESOURCE_URI, mListener1));
@@ -167,6 +216,23 @@ public class MessageHandlerTest extends TestBase {
         verify(mListener1, times(1)).onReceive(message);
     }
 
+    @Test
+    public void testOnReceiveGenericMessageOrdered() throws InterruptedException {
+        final ShardedExecutor executor = new ShardedExecutor("test", 4);
+        mMessageHandler = new MessageHandler(mUBus, CLIENT, mClientToken, executor);
+        final List<UMessage> received = new ArrayList<>();
+        assertTrue(mMessageHandler.registerListener(RESOURCE_URI, received::add));
+        final List<UMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final UMessage message = buildPublishMessage(RESOURCE_URI);
+            messages.add(message);
+            mMessageHandler.onReceive(message);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(DELAY_LONG_MS, TimeUnit.MILLISECONDS));
+        assertEquals(messages, received);
+    }
+
     @Test
     public void testOnReceiveGenericMessageUnregistered() {
         final UMessage message = buildPublishMessage(RESOURCE2_URI);
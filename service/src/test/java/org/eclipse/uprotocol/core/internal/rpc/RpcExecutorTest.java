@@ -34,7 +34,9 @@ import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -44,7 +46,9 @@ import android.os.IBinder;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 
 import org.eclipse.uprotocol.core.TestBase;
+import org.eclipse.uprotocol.core.internal.util.HashedWheelTimer;
 import org.eclipse.uprotocol.core.ubus.UBus;
+import org.eclipse.uprotocol.v1.CallOptions;
 import org.eclipse.uprotocol.v1.UCode;
 import org.eclipse.uprotocol.v1.UMessage;
 import org.eclipse.uprotocol.v1.UPayload;
@@ -55,6 +59,7 @@ import org.mockito.ArgumentCaptor;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 @RunWith(AndroidJUnit4.class)
@@ -130,6 +135,77 @@ public class RpcExecutorTest extends TestBase {
         assertFalse(mRpcExecutor.hasPendingRequests());
     }
 
+    @Test
+    @SuppressWarnings("BlockingMethodInNonBlockingContext")
+    public void testInvokeMethodTimeout() {
+        final HashedWheelTimer timer = new HashedWheelTimer("test", 10, TimeUnit.MILLISECONDS, 16);
+        when(mUBus.getTimer()).thenReturn(timer);
+        final CallOptions options = CallOptions.newBuilder().setTtl(DELAY_MS).build();
+        final CompletableFuture<UMessage> responseFuture =
+                mRpcExecutor.invokeMethod(METHOD_URI, REQUEST_PAYLOAD, options).toCompletableFuture();
+        assertEquals(1, timer.getPendingCount());
+        final Exception exception = assertThrows(ExecutionException.class,
+                () -> responseFuture.get(DELAY_LONG_MS, TimeUnit.MILLISECONDS));
+        assertStatus(UCode.DEADLINE_EXCEEDED, toStatus(exception));
+        assertEventually(() -> !mRpcExecutor.hasPendingRequests());
+        timer.stop();
+    }
+
+    @Test
+    @SuppressWarnings("BlockingMethodInNonBlockingContext")
+    public void testInvokeMethodTimeoutWithoutTimer() {
+        final HashedWheelTimer timer = new HashedWheelTimer("test", 10, TimeUnit.MILLISECONDS, 16);
+        timer.stop();
+        when(mUBus.getTimer()).thenReturn(timer);
+        final CallOptions options = CallOptions.newBuilder().setTtl(DELAY_MS).build();
+        final CompletableFuture<UMessage> responseFuture =
+                mRpcExecutor.invokeMethod(METHOD_URI, REQUEST_PAYLOAD, options).toCompletableFuture();
+        assertTrue(mRpcExecutor.hasPendingRequests());
+        final Exception exception = assertThrows(ExecutionException.class,
+                () -> responseFuture.get(DELAY_LONG_MS, TimeUnit.MILLISECONDS));
+        assertStatus(UCode.DEADLINE_EXCEEDED, toStatus(exception));
+        assertEventually(() -> !mRpcExecutor.hasPendingRequests());
+    }
+
+    @Test
+    public void testInvokeMethodTimeoutCancelled() {
+        final HashedWheelTimer timer = new HashedWheelTimer("test", 10, TimeUnit.MILLISECONDS, 16);
+        when(mUBus.getTimer()).thenReturn(timer);
+        final CompletableFuture<UMessage> responseFuture =
+                mRpcExecutor.invokeMethod(METHOD_URI, REQUEST_PAYLOAD, OPTIONS).toCompletableFuture();
+        assertEquals(1, timer.getPendingCount());
+        final ArgumentCaptor<UMessage> captor = ArgumentCaptor.forClass(UMessage.class);
+        verify(mUBus, timeout(DELAY_MS).times(1)).send(captor.capture(), any());
+        mRpcExecutor.onReceive(buildResponseMessage(captor.getValue(), RESPONSE_PAYLOAD));
+        assertTrue(responseFuture.isDone());
+        assertEquals(0, timer.getPendingCount());
+        timer.stop();
+    }
+
+    @Test
+    public void testInvokeMethodRejected() {
+        final RpcExecutor rpcExecutor = new RpcExecutor(mUBus, CLIENT, mClientToken, runnable -> {
+            throw new RejectedExecutionException();
+        });
+        final CompletableFuture<UMessage> responseFuture =
+                rpcExecutor.invokeMethod(METHOD_URI, REQUEST_PAYLOAD, OPTIONS).toCompletableFuture();
+        final Exception exception = assertThrows(ExecutionException.class,
+                () -> responseFuture.get(DELAY_MS, TimeUnit.MILLISECONDS));
+        assertStatus(UCode.RESOURCE_EXHAUSTED, toStatus(exception));
+        assertFalse(rpcExecutor.hasPendingRequests());
+        verify(mUBus, never()).send(any(), any());
+    }
+
+    @Test
+    public void testGetPendingRequestCount() {
+        final RpcExecutor rpcExecutor = new RpcExecutor(mUBus, CLIENT, mClientToken, Runnable::run);
+        rpcExecutor.invokeMethod(METHOD_URI, REQUEST_PAYLOAD, OPTIONS);
+        rpcExecutor.invokeMethod(METHOD_URI, REQUEST_PAYLOAD, OPTIONS);
+        verify(mUBus, times(2)).send(any(), any());
+        assertEquals(2, rpcExecutor.getPendingRequestCount());
+        assertEquals("2 pending request(s)", rpcExecutor.toString());
+    }
+
     @Test
     public void testResponseListenerUnexpectedType() {
         mRpcExecutor.onReceive(buildPublishMessage());
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.internal.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.eclipse.uprotocol.core.TestBase;
+import org.eclipse.uprotocol.core.internal.util.HashedWheelTimer.Timeout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(AndroidJUnit4.class)
+public class HashedWheelTimerTest extends TestBase {
+    private static final int TICK_MS = 10;
+    private static final int WHEEL_SIZE = 8;
+    private static final long BENCHMARK_DELAY_MS = TimeUnit.HOURS.toMillis(1);
+
+    private HashedWheelTimer mTimer;
+
+    @Before
+    public void setUp() {
+        mTimer = new HashedWheelTimer("test", TICK_MS, TimeUnit.MILLISECONDS, WHEEL_SIZE);
+    }
+
+    @After
+    public void tearDown() {
+        mTimer.stop();
+    }
+
+    @Test
+    public void testConstructorInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new HashedWheelTimer("test", 0, TimeUnit.MILLISECONDS, 1));
+        assertThrows(IllegalArgumentException.class, () -> new HashedWheelTimer("test", 1, TimeUnit.MILLISECONDS, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HashedWheelTimer("test", 1, TimeUnit.MILLISECONDS, 1, 0));
+    }
+
+    @Test
+    public void testGetWheelSize() {
+        assertEquals(WHEEL_SIZE, mTimer.getWheelSize());
+        final HashedWheelTimer timer = new HashedWheelTimer("test", TICK_MS, TimeUnit.MILLISECONDS, 100);
+        assertEquals(128, timer.getWheelSize());
+        timer.stop();
+    }
+
+    @Test
+    public void testNewTimeout() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Timeout timeout = mTimer.newTimeout(latch::countDown, DELAY_MS, TimeUnit.MILLISECONDS);
+        assertEquals(1, mTimer.getPendingCount());
+        assertFalse(timeout.isExpired());
+        assertTrue(latch.await(DELAY_LONG_MS, TimeUnit.MILLISECONDS));
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.isCancelled());
+        assertEquals(0, mTimer.getPendingCount());
+    }
+
+    @Test
+    public void testNewTimeoutNotExpiredEarly() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final long startTime = System.nanoTime();
+        mTimer.newTimeout(latch::countDown, DELAY_MS, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(DELAY_LONG_MS, TimeUnit.MILLISECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) >= DELAY_MS);
+    }
+
+    @Test
+    public void testNewTimeoutMultipleRounds() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final long delay = (long) TICK_MS * WHEEL_SIZE * 3;
+        mTimer.newTimeout(latch::countDown, delay, TimeUnit.MILLISECONDS);
+        assertFalse(latch.await(delay / 2, TimeUnit.MILLISECONDS));
+        assertTrue(latch.await(DELAY_LONG_MS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testNewTimeoutZeroDelay() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        mTimer.newTimeout(latch::countDown, 0, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(DELAY_MS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testNewTimeoutFailedTask() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        mTimer.newTimeout(() -> { throw new IllegalStateException(); }, 0, TimeUnit.MILLISECONDS);
+        mTimer.newTimeout(latch::countDown, TICK_MS, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(DELAY_MS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testNewTimeoutBlockingTask() throws InterruptedException {
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        mTimer.newTimeout(() -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException ignored) {
+                // Timer is stopped
+            }
+        }, 0, TimeUnit.MILLISECONDS);
+        mTimer.newTimeout(latch::countDown, TICK_MS, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(DELAY_MS, TimeUnit.MILLISECONDS));
+        blocker.countDown();
+    }
+
+    @Test
+    public void testParkedWhenIdle() throws InterruptedException {
+        awaitParked();
+        final CountDownLatch latch = new CountDownLatch(1);
+        mTimer.newTimeout(latch::countDown, DELAY_MS, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(DELAY_LONG_MS, TimeUnit.MILLISECONDS));
+        awaitParked();
+    }
+
+    @Test
+    public void testParkedWhenCancelled() {
+        mTimer.newTimeout(() -> {}, DELAY_MS, TimeUnit.MILLISECONDS).cancel();
+        awaitParked();
+    }
+
+    @Test
+    public void testNewTimeoutAfterParked() throws InterruptedException {
+        awaitParked();
+        sleep(TICK_MS * WHEEL_SIZE * 2);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final long startTime = System.nanoTime();
+        mTimer.newTimeout(latch::countDown, DELAY_MS, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(DELAY_LONG_MS, TimeUnit.MILLISECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) >= DELAY_MS);
+    }
+
+    private void awaitParked() {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DELAY_LONG_MS);
+        while (!mTimer.isParked() && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+        assertTrue(mTimer.isParked());
+    }
+
+    @Test
+    public void testNewTimeoutStopped() {
+        mTimer.stop();
+        assertTrue(mTimer.isStopped());
+        assertThrows(RejectedExecutionException.class,
+                () -> mTimer.newTimeout(() -> {}, DELAY_MS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testCancel() {
+        final AtomicInteger counter = new AtomicInteger();
+        final Timeout timeout = mTimer.newTimeout(counter::incrementAndGet, DELAY_MS, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertEquals(0, mTimer.getPendingCount());
+        sleep(DELAY_MS * 2);
+        assertEquals(0, counter.get());
+        assertFalse(timeout.isExpired());
+    }
+
+    @Test
+    public void testCancelScheduled() {
+        final AtomicInteger counter = new AtomicInteger();
+        final Timeout timeout = mTimer.newTimeout(counter::incrementAndGet, DELAY_MS, TimeUnit.MILLISECONDS);
+        sleep(TICK_MS * 2);
+        assertTrue(timeout.cancel());
+        sleep(DELAY_MS * 2);
+        assertEquals(0, counter.get());
+    }
+
+    @Test
+    public void testCancelExpired() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Timeout timeout = mTimer.newTimeout(latch::countDown, 0, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(DELAY_MS, TimeUnit.MILLISECONDS));
+        assertFalse(timeout.cancel());
+        assertTrue(timeout.isExpired());
+    }
+
+    @Test
+    public void testStop() {
+        mTimer.newTimeout(() -> {}, DELAY_MS, TimeUnit.MILLISECONDS);
+        mTimer.stop();
+        assertTrue(mTimer.isStopped());
+        assertEquals(0, mTimer.getPendingCount());
+    }
+
+    @Test
+    public void testToString() {
+        mTimer.newTimeout(() -> {}, DELAY_MS, TimeUnit.MILLISECONDS);
+        assertEquals("1 pending, 10 ms x 8", mTimer.toString());
+    }
+
+    @Test
+    public void testBenchmarkScheduleCancel() {
+        assumeBenchmarkEnabled();
+        final HashedWheelTimer timer = new HashedWheelTimer("benchmark", TICK_MS, TimeUnit.MILLISECONDS, 512);
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        for (int count : new int[] { 1000, 10000, 100000 }) {
+            final long wheelTime = measure(count, () -> {
+                final List<Timeout> timeouts = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    timeouts.add(timer.newTimeout(() -> {}, BENCHMARK_DELAY_MS, TimeUnit.MILLISECONDS));
+                }
+                timeouts.forEach(Timeout::cancel);
+            });
+            assertEquals(0, timer.getPendingCount());
+            final long executorTime = measure(count, () -> {
+                final List<ScheduledFuture<?>> futures = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    futures.add(executor.schedule(() -> {}, BENCHMARK_DELAY_MS, TimeUnit.MILLISECONDS));
+                }
+                futures.forEach(future -> future.cancel(false));
+            });
+            System.out.println(String.format(Locale.US, "Schedule/cancel %,7d timeout(s): wheel %,6d ns/op, " +
+                    "executor %,6d ns/op", count, wheelTime, executorTime));
+        }
+        executor.shutdownNow();
+        timer.stop();
+    }
+
+    private static long measure(int count, Runnable task) {
+        task.run(); // Warm up
+        final long startTime = System.nanoTime();
+        task.run();
+        return (System.nanoTime() - startTime) / count;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.internal.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.eclipse.uprotocol.core.TestBase;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+@RunWith(AndroidJUnit4.class)
+public class LatencyHistogramTest extends TestBase {
+    private final LatencyHistogram mHistogram = new LatencyHistogram();
+
+    private static void assertApproximately(long expected, long actual) {
+        assertTrue("Expected ~" + expected + " but was " + actual, Math.abs(actual - expected) <= expected / 8);
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, mHistogram.getCount());
+        assertEquals(0, mHistogram.getPercentile(50, TimeUnit.MICROSECONDS));
+        assertEquals(0, mHistogram.getMax(TimeUnit.MICROSECONDS));
+    }
+
+    @Test
+    public void testRecordSmallValues() {
+        for (int i = 0; i < 8; i++) {
+            mHistogram.record(i, TimeUnit.MICROSECONDS);
+        }
+        assertEquals(8, mHistogram.getCount());
+        assertEquals(3, mHistogram.getPercentile(50, TimeUnit.MICROSECONDS));
+        assertEquals(7, mHistogram.getMax(TimeUnit.MICROSECONDS));
+    }
+
+    @Test
+    public void testRecordNegative() {
+        mHistogram.record(-1, TimeUnit.MILLISECONDS);
+        assertEquals(1, mHistogram.getCount());
+        assertEquals(0, mHistogram.getMax(TimeUnit.MICROSECONDS));
+    }
+
+    @Test
+    public void testGetPercentile() {
+        for (int i = 1; i <= 1000; i++) {
+            mHistogram.record(i, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(1000, mHistogram.getCount());
+        assertApproximately(500, mHistogram.getPercentile(50, TimeUnit.MILLISECONDS));
+        assertApproximately(900, mHistogram.getPercentile(90, TimeUnit.MILLISECONDS));
+        assertApproximately(990, mHistogram.getPercentile(99, TimeUnit.MILLISECONDS));
+        assertEquals(1000, mHistogram.getPercentile(100, TimeUnit.MILLISECONDS));
+        assertEquals(1000, mHistogram.getMax(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testRecordOutOfRange() {
+        mHistogram.record(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        assertEquals(1, mHistogram.getCount());
+        assertEquals(TimeUnit.NANOSECONDS.toMicros(Long.MAX_VALUE), mHistogram.getMax(TimeUnit.MICROSECONDS));
+        assertTrue(mHistogram.getPercentile(50, TimeUnit.MICROSECONDS) > 0);
+    }
+
+    @Test
+    public void testToString() {
+        mHistogram.record(2, TimeUnit.MILLISECONDS);
+        assertTrue(mHistogram.toString().startsWith("1 p50 "));
+        assertTrue(mHistogram.toString().endsWith(" max 2.00ms"));
+    }
+}
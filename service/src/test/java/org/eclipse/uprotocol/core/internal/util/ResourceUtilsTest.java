@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.internal.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.eclipse.uprotocol.core.R;
+import org.eclipse.uprotocol.core.TestBase;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+@RunWith(AndroidJUnit4.class)
+public class ResourceUtilsTest extends TestBase {
+    private static final int DEFAULT_VALUE = -1;
+
+    @Test
+    public void testGetInteger() {
+        final Context context = RuntimeEnvironment.getApplication();
+        final int id = R.integer.config_deliveryQueueCapacity;
+        assertEquals(context.getResources().getInteger(id), ResourceUtils.getInteger(context, id, DEFAULT_VALUE));
+    }
+
+    @Test
+    public void testGetIntegerNoResources() {
+        final Context context = mock(Context.class);
+        assertEquals(DEFAULT_VALUE, ResourceUtils.getInteger(context, R.integer.config_deliveryQueueCapacity, DEFAULT_VALUE));
+        assertEquals(DEFAULT_VALUE, ResourceUtils.getInteger(null, R.integer.config_deliveryQueueCapacity, DEFAULT_VALUE));
+    }
+
+    @Test
+    public void testGetIntegerNotFound() {
+        final Context context = RuntimeEnvironment.getApplication();
+        assertEquals(DEFAULT_VALUE, ResourceUtils.getInteger(context, 0, DEFAULT_VALUE));
+    }
+}
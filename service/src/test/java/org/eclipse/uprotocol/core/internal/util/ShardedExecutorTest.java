@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.internal.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.eclipse.uprotocol.core.TestBase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(AndroidJUnit4.class)
+public class ShardedExecutorTest extends TestBase {
+    private static final int SHARD_COUNT = 4;
+
+    private ShardedExecutor mExecutor;
+
+    @Before
+    public void setUp() {
+        mExecutor = new ShardedExecutor("test", SHARD_COUNT);
+    }
+
+    @After
+    public void tearDown() {
+        mExecutor.shutdown();
+    }
+
+    @Test
+    public void testShardCount() {
+        assertEquals(SHARD_COUNT, mExecutor.getShardCount());
+    }
+
+    @Test
+    public void testShardCountDefault() {
+        final ShardedExecutor executor = new ShardedExecutor("test", 0);
+        assertEquals(Runtime.getRuntime().availableProcessors(), executor.getShardCount());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testConstructorInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardedExecutor("test", SHARD_COUNT, 0));
+    }
+
+    @Test
+    public void testThreadNamed() throws Exception {
+        final String key = "topic";
+        final CompletableFuture<Thread> future = new CompletableFuture<>();
+        mExecutor.execute(key, () -> future.complete(Thread.currentThread()));
+        final Thread thread = future.get(DELAY_MS, TimeUnit.MILLISECONDS);
+        assertEquals("test-" + mExecutor.getShardIndex(key), thread.getName());
+        assertTrue(thread.isDaemon());
+    }
+
+    @Test
+    public void testGetShardIndex() {
+        final String key = "topic";
+        final int index = mExecutor.getShardIndex(key);
+        assertTrue(index >= 0 && index < SHARD_COUNT);
+        assertEquals(index, mExecutor.getShardIndex(key));
+        assertTrue(mExecutor.getShardIndex(Integer.MIN_VALUE) >= 0);
+    }
+
+    @Test
+    public void testExecuteKeyedOrdered() throws InterruptedException {
+        final String key = "topic";
+        final List<Integer> results = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch latch = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            final int value = i;
+            mExecutor.execute(key, () -> {
+                results.add(value);
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(DELAY_LONG_MS, TimeUnit.MILLISECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, (int) results.get(i));
+        }
+    }
+
+    @Test
+    public void testExecuteKeyedParallel() throws InterruptedException {
+        final Object key1 = 0;
+        final Object key2 = 1;
+        assertNotEquals(mExecutor.getShardIndex(key1), mExecutor.getShardIndex(key2));
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        mExecutor.execute(key1, () -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        mExecutor.execute(key2, latch::countDown);
+        assertTrue(latch.await(DELAY_MS, TimeUnit.MILLISECONDS));
+        blocker.countDown();
+    }
+
+    @Test
+    public void testExecute() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(SHARD_COUNT * 2);
+        for (int i = 0; i < SHARD_COUNT * 2; i++) {
+            mExecutor.execute(latch::countDown);
+        }
+        assertTrue(latch.await(DELAY_MS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testGetQueueSize() throws InterruptedException {
+        final String key = "topic";
+        final int index = mExecutor.getShardIndex(key);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        mExecutor.execute(key, () -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        mExecutor.execute(key, () -> {});
+        mExecutor.execute(key, () -> {});
+        assertEquals(2, mExecutor.getQueueSize(index));
+        assertEquals(2, mExecutor.getQueueSize());
+        assertTrue(mExecutor.toString().contains("2"));
+        blocker.countDown();
+        mExecutor.shutdown();
+        assertTrue(mExecutor.awaitTermination(DELAY_MS, TimeUnit.MILLISECONDS));
+        assertEquals(0, mExecutor.getQueueSize(index));
+        assertEquals(3, mExecutor.getCompletedTaskCount(index));
+    }
+
+    @Test
+    public void testExecuteOverflow() throws InterruptedException {
+        final ShardedExecutor executor = new ShardedExecutor("test", 2, 1);
+        final Object key1 = 0;
+        final Object key2 = 1;
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(key1, () -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(key1, () -> {});
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(key1, () -> {}));
+        assertEquals(1, executor.getRejectedCount());
+        // Other shards are not affected
+        executor.execute(key2, latch::countDown);
+        assertTrue(latch.await(DELAY_MS, TimeUnit.MILLISECONDS));
+        blocker.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(DELAY_MS, TimeUnit.MILLISECONDS));
+        assertEquals(2, executor.getCompletedTaskCount(executor.getShardIndex(key1)));
+    }
+
+    @Test
+    public void testShutdown() throws InterruptedException {
+        assertFalse(mExecutor.isShutdown());
+        mExecutor.shutdown();
+        assertTrue(mExecutor.isShutdown());
+        assertTrue(mExecutor.awaitTermination(DELAY_MS, TimeUnit.MILLISECONDS));
+        assertThrows(RejectedExecutionException.class, () -> mExecutor.execute("topic", () -> {}));
+        assertEquals(0, mExecutor.getRejectedCount());
+    }
+
+    @Test
+    public void testAwaitTerminationTimeout() throws InterruptedException {
+        mExecutor.execute("topic", () -> sleep(DELAY_MS));
+        mExecutor.shutdown();
+        assertFalse(mExecutor.awaitTermination(1, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.internal.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.eclipse.uprotocol.core.TestBase;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+@RunWith(AndroidJUnit4.class)
+public class TokenBucketTest extends TestBase {
+    private static final int RATE = 10;
+    private static final int BURST = 3;
+    private static final long TOKEN_NANOS = TimeUnit.SECONDS.toNanos(1) / RATE;
+
+    private long mTime = 1000;
+    private final TokenBucket mBucket = new TokenBucket(RATE, BURST, () -> mTime);
+
+    @Test
+    public void testInvalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, BURST));
+    }
+
+    @Test
+    public void testTryAcquireBurst() {
+        for (int i = 0; i < BURST; i++) {
+            assertEquals(0, mBucket.tryAcquire());
+        }
+        assertEquals(TOKEN_NANOS, mBucket.tryAcquire());
+    }
+
+    @Test
+    public void testTryAcquireRefill() {
+        testTryAcquireBurst();
+        mTime += TOKEN_NANOS / 2;
+        assertEquals(TOKEN_NANOS / 2, mBucket.tryAcquire());
+        mTime += TOKEN_NANOS / 2;
+        assertEquals(0, mBucket.tryAcquire());
+        assertTrue(mBucket.tryAcquire() > 0);
+    }
+
+    @Test
+    public void testRefillCapped() {
+        mTime += TOKEN_NANOS * 100;
+        assertEquals(BURST, mBucket.getAvailableTokens(), 0.001);
+    }
+
+    @Test
+    public void testRelease() {
+        testTryAcquireBurst();
+        mBucket.release();
+        assertEquals(0, mBucket.tryAcquire());
+        mBucket.release();
+        mBucket.release();
+        mBucket.release();
+        mBucket.release();
+        assertEquals(BURST, mBucket.getAvailableTokens(), 0.001);
+    }
+
+    @Test
+    public void testMinimalBurst() {
+        final TokenBucket bucket = new TokenBucket(RATE, 0, () -> mTime);
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("3.0/3 tokens", mBucket.toString());
+    }
+}
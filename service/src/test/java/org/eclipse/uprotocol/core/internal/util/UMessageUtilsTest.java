@@ -126,4 +126,16 @@ public class UMessageUtilsTest extends TestBase {
         assertEquals(requestMessage.getAttributes().getPriority(), responseMessage.getAttributes().getPriority());
         assertEquals(UCode.ABORTED, responseMessage.getAttributes().getCommstatus());
     }
+
+    @Test
+    public void testRebuildResponseMessage() {
+        final UMessage responseMessage = UMessageUtils.buildResponseMessage(buildRequestMessage(), PAYLOAD);
+        final UMessage requestMessage = buildRequestMessage(buildResponseUri(CLIENT2_URI), METHOD_URI);
+        final UMessage newResponseMessage = UMessageUtils.rebuildResponseMessage(responseMessage, requestMessage);
+        assertNotEquals(responseMessage.getAttributes().getId(), newResponseMessage.getAttributes().getId());
+        assertEquals(responseMessage.getAttributes().getSource(), newResponseMessage.getAttributes().getSource());
+        assertEquals(requestMessage.getAttributes().getSource(), newResponseMessage.getAttributes().getSink());
+        assertEquals(requestMessage.getAttributes().getId(), newResponseMessage.getAttributes().getReqid());
+        assertEquals(PAYLOAD, newResponseMessage.getPayload());
+    }
 }
@@ -0,0 +1,413 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.ubus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.os.Binder;
+
+import androidx.annotation.NonNull;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.eclipse.uprotocol.core.TestBase;
+import org.eclipse.uprotocol.core.internal.util.UMessageUtils;
+import org.eclipse.uprotocol.core.ubus.client.Client;
+import org.eclipse.uprotocol.core.ubus.client.Credentials;
+import org.eclipse.uprotocol.core.ubus.client.InternalClient;
+import org.eclipse.uprotocol.core.ubus.client.SerializedMessage;
+import org.eclipse.uprotocol.transport.UListener;
+import org.eclipse.uprotocol.transport.builder.UAttributesBuilder;
+import org.eclipse.uprotocol.v1.UPriority;
+import org.eclipse.uprotocol.v1.UUri;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@RunWith(AndroidJUnit4.class)
+public class DeliveryQueueTest extends TestBase {
+    private static final int CAPACITY = 2;
+
+    private final Dispatcher mDispatcher = mock(Dispatcher.class);
+    private final List<Runnable> mTasks = new ArrayList<>();
+    private final Executor mPendingExecutor = mTasks::add;
+    private Client mClient;
+
+    @Before
+    public void setUp() {
+        final Credentials credentials = new Credentials(PACKAGE_NAME, 0, 0, CLIENT_URI);
+        mClient = new InternalClient(credentials, new Binder(), mock(UListener.class));
+        when(mDispatcher.dispatchTo(any(SerializedMessage.class), any())).thenReturn(true);
+    }
+
+    private static SerializedMessage newMessage() {
+        return new SerializedMessage(buildPublishMessage());
+    }
+
+    private static SerializedMessage newMessage(@NonNull UPriority priority) {
+        return new SerializedMessage(buildMessage(PAYLOAD, UAttributesBuilder.publish(RESOURCE_URI, priority).build()));
+    }
+
+    private static SerializedMessage newMessage(@NonNull UUri sink) {
+        return new SerializedMessage(UMessageUtils.addSinkIfEmpty(buildPublishMessage(), sink));
+    }
+
+    private void runPendingTasks() {
+        final List<Runnable> tasks = new ArrayList<>(mTasks);
+        mTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @Test
+    public void testGetClient() {
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, CAPACITY);
+        assertEquals(mClient, queue.getClient());
+        assertEquals(CAPACITY, queue.getCapacity());
+    }
+
+    @Test
+    public void testOffer() {
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, Executors.newSingleThreadExecutor(), CAPACITY);
+        final SerializedMessage message = newMessage();
+        assertTrue(queue.offer(message));
+        verify(mDispatcher, timeout(DELAY_MS).times(1)).dispatchTo(message, mClient);
+        assertEquals(1, queue.getEnqueuedCount());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testOfferOrdered() {
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, CAPACITY);
+        final SerializedMessage message1 = newMessage();
+        final SerializedMessage message2 = newMessage();
+        assertTrue(queue.offer(message1));
+        assertTrue(queue.offer(message2));
+        assertEquals(1, mTasks.size());
+        runPendingTasks();
+        final InOrder inOrder = inOrder(mDispatcher);
+        inOrder.verify(mDispatcher).dispatchTo(message1, mClient);
+        inOrder.verify(mDispatcher).dispatchTo(message2, mClient);
+        assertEquals(2, queue.getDeliveredCount());
+    }
+
+    @Test
+    public void testOfferOverflow() {
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, CAPACITY);
+        final SerializedMessage message1 = newMessage();
+        final SerializedMessage message2 = newMessage();
+        final SerializedMessage message3 = newMessage();
+        assertTrue(queue.offer(message1));
+        assertTrue(queue.offer(message2));
+        assertTrue(queue.offer(message3));
+        assertEquals(CAPACITY, queue.size());
+        assertEquals(1, queue.getDroppedCount());
+        runPendingTasks();
+        verify(mDispatcher, never()).dispatchTo(message1, mClient);
+        verify(mDispatcher, times(1)).dispatchTo(message2, mClient);
+        verify(mDispatcher, times(1)).dispatchTo(message3, mClient);
+    }
+
+    @Test
+    public void testOfferPriorityOvertakes() {
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, 10);
+        final SerializedMessage message1 = newMessage(UPriority.UPRIORITY_CS0);
+        final SerializedMessage message2 = newMessage(UPriority.UPRIORITY_CS2);
+        final SerializedMessage message3 = newMessage(UPriority.UPRIORITY_CS6);
+        assertTrue(queue.offer(message1));
+        assertTrue(queue.offer(message2));
+        assertTrue(queue.offer(message3));
+        assertEquals(1, queue.size(UPriority.UPRIORITY_CS6));
+        runPendingTasks();
+        final InOrder inOrder = inOrder(mDispatcher);
+        inOrder.verify(mDispatcher).dispatchTo(message3, mClient);
+        inOrder.verify(mDispatcher).dispatchTo(message2, mClient);
+        inOrder.verify(mDispatcher).dispatchTo(message1, mClient);
+    }
+
+    @Test
+    public void testOfferUnspecifiedPriority() {
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, CAPACITY);
+        assertTrue(queue.offer(newMessage(UPriority.UPRIORITY_UNSPECIFIED)));
+        assertEquals(1, queue.size(UPriority.UPRIORITY_CS0));
+    }
+
+    @Test
+    public void testOfferOverflowDropsLowestPriority() {
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, CAPACITY);
+        final SerializedMessage message1 = newMessage(UPriority.UPRIORITY_CS5);
+        final SerializedMessage message2 = newMessage(UPriority.UPRIORITY_CS0);
+        final SerializedMessage message3 = newMessage(UPriority.UPRIORITY_CS6);
+        assertTrue(queue.offer(message1));
+        assertTrue(queue.offer(message2));
+        assertTrue(queue.offer(message3));
+        assertEquals(1, queue.getDroppedCount());
+        runPendingTasks();
+        verify(mDispatcher, never()).dispatchTo(message2, mClient);
+        verify(mDispatcher, times(1)).dispatchTo(message1, mClient);
+        verify(mDispatcher, times(1)).dispatchTo(message3, mClient);
+    }
+
+    @Test
+    public void testOfferOverflowDropsIncomingLowerPriority() {
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, CAPACITY);
+        final SerializedMessage message1 = newMessage(UPriority.UPRIORITY_CS6);
+        final SerializedMessage message2 = newMessage(UPriority.UPRIORITY_CS6);
+        final SerializedMessage message3 = newMessage(UPriority.UPRIORITY_CS0);
+        assertTrue(queue.offer(message1));
+        assertTrue(queue.offer(message2));
+        assertFalse(queue.offer(message3));
+        assertEquals(1, queue.getDroppedCount());
+        assertEquals(CAPACITY, queue.size(UPriority.UPRIORITY_CS6));
+        runPendingTasks();
+        verify(mDispatcher, never()).dispatchTo(message3, mClient);
+        verify(mDispatcher, times(1)).dispatchTo(message1, mClient);
+        verify(mDispatcher, times(1)).dispatchTo(message2, mClient);
+    }
+
+    @Test
+    public void testDrainStarvationProtection() {
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, 100);
+        final SerializedMessage lowMessage = newMessage(UPriority.UPRIORITY_CS0);
+        assertTrue(queue.offer(lowMessage));
+        for (int i = 0; i < DeliveryQueue.STARVATION_INTERVAL * 2; i++) {
+            assertTrue(queue.offer(newMessage(UPriority.UPRIORITY_CS6)));
+        }
+        runPendingTasks();
+        final ArgumentCaptor<SerializedMessage> captor = ArgumentCaptor.forClass(SerializedMessage.class);
+        verify(mDispatcher, times(DeliveryQueue.STARVATION_INTERVAL * 2 + 1)).dispatchTo(captor.capture(), any());
+        assertEquals(DeliveryQueue.STARVATION_INTERVAL - 1, captor.getAllValues().indexOf(lowMessage));
+    }
+
+    @Test
+    public void testLatencySummary() {
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, CAPACITY);
+        assertFalse(queue.getLatencySummary().contains("CS"));
+        assertTrue(queue.offer(newMessage(UPriority.UPRIORITY_CS5)));
+        assertTrue(queue.offer(newMessage(UPriority.UPRIORITY_CS1)));
+        runPendingTasks();
+        assertEquals(1, queue.getLaneStats(UPriority.UPRIORITY_CS5).getCount());
+        assertEquals(1, queue.getLaneStats(UPriority.UPRIORITY_CS1).getCount());
+        assertEquals(0, queue.getLaneStats(UPriority.UPRIORITY_CS0).getCount());
+        assertTrue(queue.getLaneStats(UPriority.UPRIORITY_CS5).getMaxNanos() >=
+                queue.getLaneStats(UPriority.UPRIORITY_CS5).getAverageNanos());
+        final String summary = queue.getLatencySummary();
+        assertTrue(summary.startsWith("{CS5: 1 avg "));
+        assertTrue(summary.contains("CS1: 1 avg "));
+    }
+
+    @Test
+    public void testOfferConflated() {
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, CAPACITY);
+        final SerializedMessage message1 = newMessage();
+        final SerializedMessage message2 = newMessage();
+        final SerializedMessage message3 = new SerializedMessage(buildPublishMessage(RESOURCE2_URI));
+        assertTrue(queue.offer(message1, true));
+        assertTrue(queue.offer(message2, true));
+        assertTrue(queue.offer(message3, true));
+        assertEquals(2, queue.size());
+        assertEquals(1, queue.getConflatedCount());
+        assertEquals(0, queue.getDroppedCount());
+        runPendingTasks();
+        verify(mDispatcher, never()).dispatchTo(message1, mClient);
+        verify(mDispatcher, times(1)).dispatchTo(message2, mClient);
+        verify(mDispatcher, times(1)).dispatchTo(message3, mClient);
+        assertTrue(queue.toString().contains("conflated: 1"));
+    }
+
+    @Test
+    public void testOfferConflatedPerSink() {
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, 10);
+        final SerializedMessage message1 = newMessage(REMOTE_CLIENT_URI);
+        final SerializedMessage message2 = newMessage(REMOTE_SERVER_URI);
+        final SerializedMessage message3 = newMessage(REMOTE_CLIENT_URI);
+        assertTrue(queue.offer(message1, true));
+        assertTrue(queue.offer(message2, true));
+        assertTrue(queue.offer(message3, true));
+        assertEquals(2, queue.size());
+        assertEquals(1, queue.getConflatedCount());
+        runPendingTasks();
+        verify(mDispatcher, never()).dispatchTo(message1, mClient);
+        verify(mDispatcher, times(1)).dispatchTo(message2, mClient);
+        verify(mDispatcher, times(1)).dispatchTo(message3, mClient);
+    }
+
+    @Test
+    public void testOfferConflatedChangesLane() {
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, 10);
+        final SerializedMessage message1 = newMessage(UPriority.UPRIORITY_CS0);
+        final SerializedMessage message2 = newMessage(UPriority.UPRIORITY_CS6);
+        assertTrue(queue.offer(message1, true));
+        assertTrue(queue.offer(message2, true));
+        assertEquals(1, queue.size());
+        assertEquals(0, queue.size(UPriority.UPRIORITY_CS0));
+        assertEquals(1, queue.size(UPriority.UPRIORITY_CS6));
+        assertEquals(1, queue.getConflatedCount());
+        runPendingTasks();
+        verify(mDispatcher, never()).dispatchTo(message1, mClient);
+        verify(mDispatcher, times(1)).dispatchTo(message2, mClient);
+        assertEquals(1, queue.getLaneStats(UPriority.UPRIORITY_CS6).getCount());
+    }
+
+    @Test
+    public void testOfferConflatedMixed() {
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, 10);
+        final SerializedMessage message1 = newMessage();
+        final SerializedMessage message2 = newMessage();
+        final SerializedMessage message3 = newMessage();
+        assertTrue(queue.offer(message1));
+        assertTrue(queue.offer(message2, true));
+        assertTrue(queue.offer(message3, true));
+        assertEquals(2, queue.size());
+        runPendingTasks();
+        final InOrder inOrder = inOrder(mDispatcher);
+        inOrder.verify(mDispatcher).dispatchTo(message1, mClient);
+        inOrder.verify(mDispatcher).dispatchTo(message3, mClient);
+        verify(mDispatcher, never()).dispatchTo(message2, mClient);
+    }
+
+    @Test
+    public void testOfferConflatedAfterDelivery() {
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, CAPACITY);
+        assertTrue(queue.offer(newMessage(), true));
+        runPendingTasks();
+        assertTrue(queue.offer(newMessage(), true));
+        assertEquals(1, queue.size());
+        assertEquals(0, queue.getConflatedCount());
+    }
+
+    @Test
+    public void testOfferConflatedAfterOverflow() {
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, 1);
+        assertTrue(queue.offer(newMessage(), true));
+        assertTrue(queue.offer(new SerializedMessage(buildPublishMessage(RESOURCE2_URI)), true));
+        assertEquals(1, queue.getDroppedCount());
+        assertTrue(queue.offer(newMessage(), true));
+        assertEquals(2, queue.getDroppedCount());
+        assertEquals(0, queue.getConflatedCount());
+    }
+
+    @Test
+    public void testOfferRejected() {
+        final AtomicInteger attempts = new AtomicInteger();
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, runnable -> {
+            attempts.incrementAndGet();
+            throw new RejectedExecutionException();
+        }, CAPACITY);
+        assertFalse(queue.offer(newMessage()));
+        assertEquals(0, queue.size());
+        assertEquals(1, queue.getDroppedCount());
+        assertFalse(queue.offer(newMessage()));
+        assertEquals(2, attempts.get());
+        assertEquals(2, queue.getDroppedCount());
+    }
+
+    @Test
+    public void testOfferClosed() {
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, CAPACITY);
+        assertTrue(queue.offer(newMessage()));
+        queue.close();
+        assertEquals(0, queue.size());
+        assertFalse(queue.offer(newMessage()));
+        runPendingTasks();
+        verify(mDispatcher, never()).dispatchTo(any(SerializedMessage.class), any());
+    }
+
+    @Test
+    public void testDrainFailed() {
+        when(mDispatcher.dispatchTo(any(SerializedMessage.class), any())).thenReturn(false);
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, CAPACITY);
+        assertTrue(queue.offer(newMessage()));
+        runPendingTasks();
+        assertEquals(0, queue.getDeliveredCount());
+        assertEquals(1, queue.getFailedCount());
+    }
+
+    @Test
+    public void testDrainExpired() {
+        when(mDispatcher.dropIfExpired(any(), any())).thenReturn(true);
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, CAPACITY);
+        final SerializedMessage message = newMessage();
+        assertTrue(queue.offer(message));
+        runPendingTasks();
+        verify(mDispatcher, times(1)).dropIfExpired(message.getMessage(), mClient);
+        verify(mDispatcher, never()).dispatchTo(any(SerializedMessage.class), any());
+        assertEquals(0, queue.getDeliveredCount());
+        assertEquals(0, queue.getFailedCount());
+    }
+
+    @Test
+    public void testDrainRescheduled() {
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, CAPACITY);
+        assertTrue(queue.offer(newMessage()));
+        runPendingTasks();
+        assertTrue(queue.offer(newMessage()));
+        assertEquals(1, mTasks.size());
+        runPendingTasks();
+        assertEquals(2, queue.getDeliveredCount());
+    }
+
+    @Test
+    public void testDrainRate() {
+        final AtomicLong ticker = new AtomicLong();
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, CAPACITY, ticker::get);
+        assertEquals(0, queue.getDrainRate(), 0);
+        assertTrue(queue.offer(newMessage()));
+        runPendingTasks();
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(queue.offer(newMessage()));
+        runPendingTasks();
+        assertEquals(2, queue.getDrainRate(), 0.01);
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(0, queue.getDrainRate(), 0);
+    }
+
+    @Test
+    public void testToString() {
+        final DeliveryQueue queue = new DeliveryQueue(mDispatcher, mClient, mPendingExecutor, CAPACITY);
+        assertTrue(queue.offer(newMessage()));
+        final String output = queue.toString();
+        assertTrue(output.contains("depth: 1/" + CAPACITY));
+        assertTrue(output.contains("rate:"));
+    }
+}
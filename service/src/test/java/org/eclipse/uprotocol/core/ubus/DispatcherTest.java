@@ -26,7 +26,10 @@ package org.eclipse.uprotocol.core.ubus;
 import static org.eclipse.uprotocol.common.util.log.Formatter.stringify;
 import static org.eclipse.uprotocol.core.internal.util.UMessageUtils.replaceSink;
 import static org.eclipse.uprotocol.core.internal.util.UUriUtils.addAuthority;
+import static org.eclipse.uprotocol.core.ubus.UBus.FLAG_CONFLATE_DELIVERY;
+import static org.eclipse.uprotocol.core.ubus.UBus.FLAG_SERVER_POOL;
 import static org.eclipse.uprotocol.core.ubus.UBusManager.FLAG_BLOCK_AUTO_FETCH;
+import static org.eclipse.uprotocol.uuid.factory.UuidUtils.isExpired;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
@@ -35,6 +38,8 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -47,6 +52,7 @@ import static org.mockito.Mockito.when;
 import android.content.Context;
 import android.os.Binder;
 import android.os.IBinder;
+import android.os.RemoteException;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
@@ -54,8 +60,11 @@ import androidx.test.ext.junit.runners.AndroidJUnit4;
 
 import org.eclipse.uprotocol.core.TestBase;
 import org.eclipse.uprotocol.core.UCore;
+import org.eclipse.uprotocol.core.internal.handler.MessageHandler;
 import org.eclipse.uprotocol.core.ubus.client.Client;
+import org.eclipse.uprotocol.core.ubus.client.ClientHealth;
 import org.eclipse.uprotocol.core.ubus.client.ClientManager;
+import org.eclipse.uprotocol.core.ubus.client.SerializedMessage;
 import org.eclipse.uprotocol.core.usubscription.SubscriptionListener;
 import org.eclipse.uprotocol.core.usubscription.USubscription;
 import org.eclipse.uprotocol.core.usubscription.v3.SubscriptionStatus.State;
@@ -65,6 +74,7 @@ import org.eclipse.uprotocol.transport.UListener;
 import org.eclipse.uprotocol.v1.UCode;
 import org.eclipse.uprotocol.v1.UEntity;
 import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UStatus;
 import org.eclipse.uprotocol.v1.UUri;
 import org.junit.Before;
 import org.junit.Test;
@@ -73,6 +83,7 @@ import org.junit.runner.RunWith;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 @RunWith(AndroidJUnit4.class)
@@ -159,6 +170,10 @@ public class DispatcherTest extends TestBase {
                 .build();
     }
 
+    private static void awaitExpired(@NonNull UMessage message) {
+        assertEventually(() -> isExpired(message.getAttributes()));
+    }
+
     private void verifyMessageReceived(UMessage message, int times, @NonNull Client client) {
         if (message != null) {
             verify(((UListener) client.getListener()), timeout(DELAY_LONG_MS).times(times)).onReceive(message);
@@ -209,8 +224,10 @@ public class DispatcherTest extends TestBase {
 
     @Test
     public void testShutdownTimeout() {
-        mDispatcher.getExecutor().schedule(() -> sleep(200), 0, TimeUnit.MILLISECONDS);
+        final CompletableFuture<Void> blocker = new CompletableFuture<>();
+        mDispatcher.getExecutor().execute(blocker::join);
         mDispatcher.shutdown();
+        blocker.complete(null);
         verify(mRpcHandler, times(1)).shutdown();
         verify(mUSubscription, times(1)).unregisterListener(any());
         verify(mClientManager, times(1)).unregisterListener(any());
@@ -218,13 +235,15 @@ public class DispatcherTest extends TestBase {
 
     @Test
     public void testShutdownInterrupted() {
-        mDispatcher.getExecutor().schedule(() -> sleep(200), 0, TimeUnit.MILLISECONDS);
+        final CompletableFuture<Void> blocker = new CompletableFuture<>();
+        mDispatcher.getExecutor().execute(blocker::join);
         final Thread thread = new Thread(() -> mDispatcher.shutdown());
         thread.start();
         thread.interrupt();
         verify(mRpcHandler, timeout(DELAY_MS).times(1)).shutdown();
         verify(mUSubscription, timeout(DELAY_MS).times(1)).unregisterListener(any());
         verify(mClientManager, timeout(DELAY_MS).times(1)).unregisterListener(any());
+        blocker.complete(null);
     }
 
     @Test
@@ -288,6 +307,7 @@ public class DispatcherTest extends TestBase {
         assertStatus(UCode.OK, mDispatcher.enableDispatching(RESOURCE_URI, 0, mClient));
         assertTrue(mDispatcher.getLinkedClients(RESOURCE_URI).contains(mClient));
         mClientManager.unregisterClient(mClient.getToken());
+        assertTrue(mClientManager.awaitCleanup(DELAY_LONG_MS, TimeUnit.MILLISECONDS));
         assertFalse(mDispatcher.getLinkedClients(RESOURCE_URI).contains(mClient));
     }
 
@@ -314,7 +334,7 @@ public class DispatcherTest extends TestBase {
         final UMessage message = buildPublishMessage(RESOURCE_URI, 100);
         assertTrue(mUTwin.addMessage(message));
         assertTrue(mDispatcher.pull(RESOURCE_URI, 1, mClient).contains(message));
-        sleep(200);
+        awaitExpired(message);
         assertFalse(mDispatcher.pull(RESOURCE_URI, 1, mClient).contains(message));
     }
 
@@ -334,6 +354,20 @@ public class DispatcherTest extends TestBase {
         assertTrue(Dispatcher.shouldAutoFetch(~FLAG_BLOCK_AUTO_FETCH));
     }
 
+    @Test
+    public void testShouldConflate() {
+        assertTrue(Dispatcher.shouldConflate(FLAG_CONFLATE_DELIVERY | FLAG_BLOCK_AUTO_FETCH));
+        assertFalse(Dispatcher.shouldConflate(FLAG_BLOCK_AUTO_FETCH));
+    }
+
+    @Test
+    public void testEnableDispatchingConflated() {
+        injectSubscription(RESOURCE_URI, mClient.getUri());
+        assertStatus(UCode.OK, mDispatcher.enableDispatching(RESOURCE_URI, FLAG_CONFLATE_DELIVERY, mClient));
+        assertTrue(mDispatcher.getLinkedClients(RESOURCE_URI).contains(mClient));
+        verify(mUTwin, timeout(DELAY_MS).times(1)).getMessage(RESOURCE_URI);
+    }
+
     @Test
     public void testEnableDispatching() {
         assertStatus(UCode.OK, mDispatcher.enableDispatching(RESOURCE_URI, 0, mClient));
@@ -367,7 +401,20 @@ public class DispatcherTest extends TestBase {
     @Test
     public void testEnableDispatchingForServer() {
         mDispatcher.enableDispatching(METHOD_URI, 0, mServer);
-        verify(mRpcHandler, times(1)).registerServer(METHOD_URI, mServer);
+        verify(mRpcHandler, times(1)).registerServer(METHOD_URI, 0, mServer);
+    }
+
+    @Test
+    public void testEnableDispatchingForServerPool() {
+        mDispatcher.enableDispatching(METHOD_URI, FLAG_SERVER_POOL, mServer);
+        verify(mRpcHandler, times(1)).registerServer(METHOD_URI, FLAG_SERVER_POOL, mServer);
+    }
+
+    @Test
+    public void testSetMethodPolicy() {
+        final MethodPolicy policy = new MethodPolicy.Builder().setCoalescing(true).build();
+        mDispatcher.setMethodPolicy(METHOD_URI, policy, mServer);
+        verify(mRpcHandler, times(1)).setMethodPolicy(METHOD_URI, policy, mServer);
     }
 
     @Test
@@ -418,7 +465,7 @@ public class DispatcherTest extends TestBase {
     public void testDispatchFromExpiredMessage() {
         injectTopic(RESOURCE_URI, mServer.getUri());
         final UMessage message = buildPublishMessage(RESOURCE_URI, 100);
-        sleep(200);
+        awaitExpired(message);
         assertStatus(UCode.DEADLINE_EXCEEDED, mDispatcher.dispatchFrom(message, mServer));
         verifyMessageNotCached(message);
     }
@@ -433,6 +480,62 @@ public class DispatcherTest extends TestBase {
         verifyMessageReceived(message, 1, mClient);
     }
 
+    @Test
+    public void testDispatchFromPublishMessageRateLimited() {
+        mDispatcher.setRateLimiter(new PublishRateLimiter(0, 0, 1, 1));
+        final Client publisher = registerNewClient(SERVICE2, new Binder(), mock(IUListener.class));
+        final UUri topic = buildUri(null, SERVICE2, RESOURCE);
+        injectTopic(topic, publisher.getUri());
+        registerReceiver(topic, mClient, true);
+        final UMessage message1 = buildPublishMessage(topic);
+        assertStatus(UCode.OK, mDispatcher.dispatchFrom(message1, publisher));
+        final UMessage message2 = buildPublishMessage(topic);
+        final UStatus status = mDispatcher.dispatchFrom(message2, publisher);
+        assertEquals(UCode.RESOURCE_EXHAUSTED, status.getCode());
+        assertTrue(status.getMessage().contains("retry in"));
+        verifyMessageCached(message1);
+        verifyMessageReceived(message1, 1, mClient);
+        verifyMessageNotReceived(message2, mClient);
+
+        final String output = dump();
+        assertTrue(output.contains("Publish: {accepted: 1, rejected: 1, budget: "));
+    }
+
+    @Test
+    public void testDispatchFromPublishMessageRateLimitedNotPublisher() {
+        final PublishRateLimiter rateLimiter = new PublishRateLimiter(1, 1, 1, 1);
+        mDispatcher.setRateLimiter(rateLimiter);
+        final Client publisher = registerNewClient(SERVICE2, new Binder(), mock(IUListener.class));
+        final UUri topic = buildUri(null, SERVICE2, RESOURCE);
+        assertStatus(UCode.NOT_FOUND, mDispatcher.dispatchFrom(buildPublishMessage(topic), publisher));
+        assertNull(rateLimiter.getBudget(publisher));
+        assertNull(rateLimiter.getBudget(topic));
+        injectTopic(topic, publisher.getUri());
+        assertStatus(UCode.OK, mDispatcher.dispatchFrom(buildPublishMessage(topic), publisher));
+    }
+
+    @Test
+    public void testDispatchFromPublishMessageRateLimitedInternal() {
+        mDispatcher.setRateLimiter(new PublishRateLimiter(1, 1, 1, 1));
+        injectTopic(RESOURCE_URI, mServer.getUri());
+        assertStatus(UCode.OK, mDispatcher.dispatchFrom(buildPublishMessage(RESOURCE_URI), mServer));
+        assertStatus(UCode.OK, mDispatcher.dispatchFrom(buildPublishMessage(RESOURCE_URI), mServer));
+    }
+
+    @Test
+    public void testDispatchFromRemotePublishMessageRateLimited() {
+        final PublishRateLimiter rateLimiter = new PublishRateLimiter(1, 1, 1, 1);
+        mDispatcher.setRateLimiter(rateLimiter);
+        final Client server = registerRemoteServer(new Binder());
+        final UUri topic2 = buildUri(REMOTE_AUTHORITY, SERVICE, RESOURCE2);
+        assertStatus(UCode.OK, mDispatcher.dispatchFrom(buildPublishMessage(REMOTE_RESOURCE_URI), server));
+        // Only the topic budget applies to the remote client
+        assertStatus(UCode.OK, mDispatcher.dispatchFrom(buildPublishMessage(topic2), server));
+        assertStatus(UCode.RESOURCE_EXHAUSTED,
+                mDispatcher.dispatchFrom(buildPublishMessage(REMOTE_RESOURCE_URI), server));
+        assertEquals(2, rateLimiter.getBudget(server).getAcceptedCount());
+    }
+
     @Test
     public void testDispatchFromPublishMessageSequence() {
         injectTopic(RESOURCE_URI, mServer.getUri());
@@ -553,6 +656,33 @@ public class DispatcherTest extends TestBase {
         verifyMessageReceived(message, 1, mClient);
     }
 
+    @Test
+    public void testDispatchFromPublishMessageSlowClient() {
+        injectTopic(RESOURCE_URI, mServer.getUri());
+        when(mUSubscription.getSubscribers(RESOURCE_URI)).thenReturn(Set.of(CLIENT_URI, CLIENT2_URI));
+        final Client client2 = registerNewClient(CLIENT2);
+        registerReceiver(RESOURCE_URI, mClient, false);
+        registerReceiver(RESOURCE_URI, client2, false);
+        final CompletableFuture<Void> blocker = new CompletableFuture<>();
+        doAnswer(invocation -> blocker.join()).when((UListener) mClient.getListener()).onReceive(any());
+
+        final UMessage message1 = buildPublishMessage(RESOURCE_URI);
+        final UMessage message2 = buildPublishMessage(RESOURCE_URI);
+        assertStatus(UCode.OK, mDispatcher.dispatchFrom(message1, mServer));
+        assertStatus(UCode.OK, mDispatcher.dispatchFrom(message2, mServer));
+        verify((UListener) client2.getListener(), timeout(DELAY_MS).times(1)).onReceive(message1);
+        verify((UListener) client2.getListener(), timeout(DELAY_MS).times(1)).onReceive(message2);
+        blocker.complete(null);
+        verifyMessageReceived(message2, 1, mClient);
+    }
+
+    @Test
+    public void testDispatchToReleasedClient() {
+        registerReceiver(RESOURCE_URI, mClient, true);
+        mClientManager.unregisterClient(mClient.getToken());
+        assertNull(mDispatcher.getDeliveryQueue(mClient));
+    }
+
     @Test
     public void testDispatchFromRequestMessage() {
         final UMessage requestMessage = buildRequestMessage();
@@ -573,6 +703,90 @@ public class DispatcherTest extends TestBase {
         assertTrue(mDispatcher.dispatchTo(buildPublishMessage(), mClient));
     }
 
+    @Test
+    public void testDispatchToSerializedMessage() {
+        final UMessage message = buildPublishMessage();
+        assertTrue(mDispatcher.dispatchTo(new SerializedMessage(message), mClient));
+        verify((UListener) mClient.getListener(), times(1)).onReceive(message);
+    }
+
+    @Test
+    public void testDispatchToExpiredMessage() {
+        final UMessage message = buildPublishMessage(RESOURCE_URI, 100);
+        awaitExpired(message);
+        assertFalse(mDispatcher.dispatchTo(message, mClient));
+        verify((UListener) mClient.getListener(), never()).onReceive(any());
+        assertEquals(1, mDispatcher.getExpiredCount(mClient));
+        assertEquals(1, mDispatcher.getExpiredCount(RESOURCE_URI));
+        assertEquals(0, mDispatcher.getExpiredCount(mServer));
+
+        final String output = dump();
+        assertTrue(output.contains("Expired: 1"));
+        assertTrue(output.contains("Expired message(s): {" + stringify(RESOURCE_URI) + ": 1}"));
+    }
+
+    @Test
+    public void testDispatchToExpiredRequestMessage() {
+        final UMessage message = buildRequestMessage(RESPONSE_URI, METHOD_URI, 100);
+        awaitExpired(message);
+        assertFalse(mDispatcher.dispatchTo(message, mServer));
+        assertEquals(1, mDispatcher.getExpiredCount(METHOD_URI));
+    }
+
+    @Test
+    public void testDispatchToExpiredWhileRetrying() {
+        doThrow(new RuntimeException()).when((UListener) mClient.getListener()).onReceive(any());
+        final UMessage message = buildPublishMessage(RESOURCE_URI, 30);
+        assertFalse(mDispatcher.dispatchTo(message, mClient));
+        verify((UListener) mClient.getListener(), times(1)).onReceive(message);
+        assertEquals(1, mDispatcher.getExpiredCount(mClient));
+    }
+
+    @Test
+    public void testExpiredCountRemovedOnUnregister() {
+        testDispatchToExpiredMessage();
+        mDispatcher.getClientRegistrationListener().onClientUnregistered(mClient);
+        assertEquals(0, mDispatcher.getExpiredCount(mClient));
+    }
+
+    @Test
+    public void testDispatchToCircuitOpen() throws RemoteException {
+        final IUListener listener = mock(IUListener.class);
+        doThrow(new RemoteException()).when(listener).onReceive(any());
+        final Client client = registerNewClient(CLIENT2, new Binder(), listener);
+        for (int i = 0; i < 5; i++) {
+            assertFalse(mDispatcher.dispatchTo(buildPublishMessage(), client));
+        }
+        assertEquals(ClientHealth.State.OPEN, client.getHealth().getState());
+        assertFalse(mDispatcher.dispatchTo(buildPublishMessage(), client));
+        verify(listener, times(10)).onReceive(any());
+    }
+
+    @Test
+    public void testDispatchToCircuitOpenRpcMessage() throws RemoteException {
+        final IUListener listener = mock(IUListener.class);
+        doThrow(new RemoteException()).when(listener).onReceive(any());
+        final Client client = registerNewClient(CLIENT2, new Binder(), listener);
+        for (int i = 0; i < 5; i++) {
+            assertFalse(mDispatcher.dispatchTo(buildPublishMessage(), client));
+        }
+        assertEquals(ClientHealth.State.OPEN, client.getHealth().getState());
+        doNothing().when(listener).onReceive(any());
+        final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        assertTrue(mDispatcher.dispatchTo(requestMessage, client));
+        assertTrue(mDispatcher.dispatchTo(buildResponseMessage(requestMessage), client));
+        verify(listener, times(12)).onReceive(any());
+    }
+
+    @Test
+    public void testDispatchToInternalClientNotTracked() {
+        doThrow(new RuntimeException()).when((UListener) mClient.getListener()).onReceive(any());
+        for (int i = 0; i < 5; i++) {
+            assertFalse(mDispatcher.dispatchTo(buildPublishMessage(), mClient));
+        }
+        assertEquals(ClientHealth.State.HEALTHY, mClient.getHealth().getState());
+    }
+
     @Test
     public void testDispatchToExceptionally() {
         doThrow(new RuntimeException()).when((UListener) mClient.getListener()).onReceive(any());
@@ -595,7 +809,8 @@ public class DispatcherTest extends TestBase {
     @Test
     @SuppressWarnings("DataFlowIssue")
     public void testDispatchToNegative() {
-        assertFalse(mDispatcher.dispatchTo(null, mClient));
+        assertFalse(mDispatcher.dispatchTo((UMessage) null, mClient));
+        assertFalse(mDispatcher.dispatchTo((SerializedMessage) null, mClient));
         assertFalse(mDispatcher.dispatchTo(buildPublishMessage(), null));
     }
 
@@ -618,7 +833,7 @@ public class DispatcherTest extends TestBase {
         final UMessage message = buildPublishMessage(RESOURCE_URI, 100);
         assertTrue(mUTwin.addMessage(message));
         verifyMessageCached(message);
-        sleep(200);
+        awaitExpired(message);
         assertNull(mUTwin.getMessage(RESOURCE_URI));
     }
 
@@ -640,6 +855,25 @@ public class DispatcherTest extends TestBase {
 
         final String output = dump();
         assertTrue(output.contains(stringify(topic)));
+        assertTrue(output.contains("Dispatch queue(s): "));
+    }
+
+    @Test
+    public void testDumpInternalClient() {
+        final MessageHandler handler = new MessageHandler(mock(UBus.class), CLIENT2, new Binder());
+        registerNewClient(CLIENT2, new Binder(), handler);
+        final String output = dump();
+        assertTrue(output.contains("RPC: 0 pending request(s)"));
+        assertTrue(output.contains("Handler queue(s): []"));
+    }
+
+    @Test
+    public void testDumpDeliveryQueue() {
+        testDispatchFromPublishMessage();
+        assertEventually(() -> dump().contains("delivered: 1"));
+        final String output = dump();
+        assertTrue(output.contains("Queue: "));
+        assertTrue(output.contains("Latency: {CS0: 1 avg"));
     }
 
     @Test
@@ -42,7 +42,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -72,6 +74,36 @@ public class LinkedClientsTest extends TestBase {
         assertTrue(mLinkedClients.getClients(RESOURCE_URI).contains(client));
     }
 
+    @Test
+    public void testLinkToDispatchConflated() {
+        final Client client = newClient(CLIENT_URI);
+        mLinkedClients.linkToDispatch(RESOURCE_URI, client, true);
+        mLinkedClients.linkToDispatch(RESOURCE2_URI, client);
+        assertTrue(mLinkedClients.getClients(RESOURCE_URI).contains(client));
+        assertTrue(mLinkedClients.isConflated(RESOURCE_URI, client));
+        assertFalse(mLinkedClients.isConflated(RESOURCE2_URI, client));
+    }
+
+    @Test
+    public void testLinkToDispatchConflatedRelinked() {
+        final Client client = newClient(CLIENT_URI);
+        mLinkedClients.linkToDispatch(RESOURCE_URI, client, true);
+        mLinkedClients.linkToDispatch(RESOURCE_URI, client, false);
+        assertTrue(mLinkedClients.getClients(RESOURCE_URI).contains(client));
+        assertFalse(mLinkedClients.isConflated(RESOURCE_URI, client));
+    }
+
+    @Test
+    public void testUnlinkFromDispatchConflated() {
+        final Client client = newClient(CLIENT_URI);
+        mLinkedClients.linkToDispatch(RESOURCE_URI, client, true);
+        mLinkedClients.unlinkFromDispatch(RESOURCE_URI, client);
+        assertFalse(mLinkedClients.isConflated(RESOURCE_URI, client));
+        mLinkedClients.linkToDispatch(RESOURCE_URI, client, true);
+        mLinkedClients.unlinkFromDispatch(client);
+        assertFalse(mLinkedClients.isConflated(RESOURCE_URI, client));
+    }
+
     @Test
     public void testLinkToDispatchAlreadyLinked() {
         final Client client = newClient(CLIENT_URI);
@@ -220,4 +252,26 @@ public class LinkedClientsTest extends TestBase {
         assertFalse(mLinkedClients.isEmpty());
         clear();
     }
+
+    @Test
+    public void testChangeListener() {
+        final Client client = newClient(CLIENT_URI);
+        final List<UUri> changedTopics = new ArrayList<>();
+        mLinkedClients.setChangeListener(changedTopics::add);
+        mLinkedClients.linkToDispatch(RESOURCE_URI, client);
+        mLinkedClients.linkToDispatch(RESOURCE2_URI, client);
+        mLinkedClients.unlinkFromDispatch(RESOURCE_URI, client);
+        mLinkedClients.unlinkFromDispatch(client);
+        assertEquals(List.of(RESOURCE_URI, RESOURCE2_URI, RESOURCE_URI, RESOURCE2_URI), changedTopics);
+
+        changedTopics.clear();
+        mLinkedClients.linkToDispatch(RESOURCE_URI, client);
+        mLinkedClients.clear();
+        assertEquals(List.of(RESOURCE_URI, RESOURCE_URI), changedTopics);
+
+        changedTopics.clear();
+        mLinkedClients.setChangeListener(null);
+        mLinkedClients.linkToDispatch(RESOURCE_URI, client);
+        assertTrue(changedTopics.isEmpty());
+    }
 }
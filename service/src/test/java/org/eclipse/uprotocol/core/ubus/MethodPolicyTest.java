@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.ubus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.eclipse.uprotocol.core.TestBase;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(AndroidJUnit4.class)
+public class MethodPolicyTest extends TestBase {
+    @Test
+    public void testDefault() {
+        assertFalse(MethodPolicy.DEFAULT.isCoalescing());
+        assertFalse(MethodPolicy.DEFAULT.isCaching());
+        assertEquals(MethodPolicy.DEFAULT_CACHE_SIZE, MethodPolicy.DEFAULT.getCacheSize());
+        assertEquals(MethodPolicy.DEFAULT_MAX_RETRIES, MethodPolicy.DEFAULT.getMaxRetries());
+        assertEquals(MethodPolicy.DEFAULT_RETRY_DELAY, MethodPolicy.DEFAULT.getRetryDelay());
+        assertEquals(MethodPolicy.DEFAULT_MAX_RETRY_DELAY, MethodPolicy.DEFAULT.getMaxRetryDelay());
+    }
+
+    @Test
+    public void testBuild() {
+        assertTrue(new MethodPolicy.Builder().setCoalescing(true).build().isCoalescing());
+        assertFalse(new MethodPolicy.Builder().setCoalescing(false).build().isCoalescing());
+    }
+
+    @Test
+    public void testBuildCache() {
+        final MethodPolicy policy = new MethodPolicy.Builder().setCacheTtl(TTL).setCacheSize(16).build();
+        assertTrue(policy.isCaching());
+        assertEquals(TTL, policy.getCacheTtl());
+        assertEquals(16, policy.getCacheSize());
+        assertFalse(new MethodPolicy.Builder().setCacheTtl(TTL).setCacheSize(0).build().isCaching());
+    }
+
+    @Test
+    public void testBuildRetry() {
+        final MethodPolicy policy = new MethodPolicy.Builder().setMaxRetries(3).setRetryDelay(100, 50).build();
+        assertEquals(3, policy.getMaxRetries());
+        assertEquals(100, policy.getRetryDelay());
+        assertEquals(100, policy.getMaxRetryDelay());
+    }
+
+    @Test
+    public void testBuildFromPolicy() {
+        final MethodPolicy policy = new MethodPolicy.Builder().setCoalescing(true).setMaxRetries(3)
+                .setRetryDelay(100, 500).build();
+        final MethodPolicy copy = new MethodPolicy.Builder(policy).setCacheTtl(TTL).build();
+        assertTrue(copy.isCoalescing());
+        assertTrue(copy.isCaching());
+        assertEquals(3, copy.getMaxRetries());
+        assertEquals(100, copy.getRetryDelay());
+        assertEquals(500, copy.getMaxRetryDelay());
+    }
+
+    @Test
+    public void testGetRetryDelay() {
+        final MethodPolicy policy = new MethodPolicy.Builder().setRetryDelay(100, 500).build();
+        assertEquals(100, policy.getRetryDelay(0));
+        assertEquals(200, policy.getRetryDelay(1));
+        assertEquals(400, policy.getRetryDelay(2));
+        assertEquals(500, policy.getRetryDelay(3));
+        assertEquals(500, policy.getRetryDelay(100));
+        assertEquals(0, new MethodPolicy.Builder().setRetryDelay(0, 0).build().getRetryDelay(1));
+    }
+
+    @Test
+    public void testToStringRetry() {
+        assertEquals("{coalescing: false, max_retries: 2, retry_delay: 100, max_retry_delay: 400}",
+                new MethodPolicy.Builder().setMaxRetries(2).setRetryDelay(100, 400).build().toString());
+    }
+
+    @Test
+    public void testToStringCache() {
+        assertEquals("{coalescing: false, cache_ttl: 1000, cache_size: 16}",
+                new MethodPolicy.Builder().setCacheTtl(1000).setCacheSize(16).build().toString());
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("{coalescing: true}", new MethodPolicy.Builder().setCoalescing(true).build().toString());
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.ubus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import android.os.Binder;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.eclipse.uprotocol.common.UStatusException;
+import org.eclipse.uprotocol.core.TestBase;
+import org.eclipse.uprotocol.core.ubus.PublishRateLimiter.Budget;
+import org.eclipse.uprotocol.core.ubus.client.Client;
+import org.eclipse.uprotocol.core.ubus.client.Credentials;
+import org.eclipse.uprotocol.core.ubus.client.InternalClient;
+import org.eclipse.uprotocol.transport.UListener;
+import org.eclipse.uprotocol.v1.UCode;
+import org.eclipse.uprotocol.v1.UUri;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(AndroidJUnit4.class)
+public class PublishRateLimiterTest extends TestBase {
+    private Client mClient;
+    private Client mClient2;
+
+    @Before
+    public void setUp() {
+        mClient = newClient(SERVER_URI);
+        mClient2 = newClient(buildUri(null, SERVICE2, null));
+    }
+
+    private static Client newClient(UUri clientUri) {
+        final Credentials credentials = new Credentials(PACKAGE_NAME, 0, 0, clientUri);
+        return new InternalClient(credentials, new Binder(), mock(UListener.class));
+    }
+
+    private static void assertRejected(PublishRateLimiter limiter, UUri topic, Client client, String scope) {
+        final UStatusException exception = assertThrows(UStatusException.class, () -> limiter.acquire(topic, client));
+        assertEquals(UCode.RESOURCE_EXHAUSTED, exception.getCode());
+        assertTrue(exception.getMessage().contains("Publish rate of " + scope + " exceeded, retry in "));
+    }
+
+    @Test
+    public void testAcquireUnlimited() {
+        final PublishRateLimiter limiter = new PublishRateLimiter(0, 0, 0, 0);
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire(RESOURCE_URI, mClient);
+        }
+        // Counted even though nothing is enforced
+        assertEquals(100, limiter.getBudget(mClient).getAcceptedCount());
+        assertEquals(100, limiter.getBudget(RESOURCE_URI).getAcceptedCount());
+    }
+
+    @Test
+    public void testAcquireClientLimit() {
+        final PublishRateLimiter limiter = new PublishRateLimiter(1, 2, 0, 0);
+        limiter.acquire(RESOURCE_URI, mClient);
+        limiter.acquire(RESOURCE2_URI, mClient);
+        assertRejected(limiter, RESOURCE_URI, mClient, "client");
+        limiter.acquire(RESOURCE_URI, mClient2);
+        final Budget budget = limiter.getBudget(mClient);
+        assertEquals(2, budget.getAcceptedCount());
+        assertEquals(1, budget.getRejectedCount());
+        assertEquals(1, limiter.getBudget(RESOURCE_URI).getRejectedCount());
+    }
+
+    @Test
+    public void testAcquireRemoteClientNotLimited() {
+        final PublishRateLimiter limiter = new PublishRateLimiter(1, 1, 0, 0);
+        final Client client = newClient(buildUri(null, REMOTE_SERVER, null));
+        limiter.acquire(REMOTE_RESOURCE_URI, client);
+        limiter.acquire(REMOTE_RESOURCE_URI, client);
+        assertEquals(2, limiter.getBudget(client).getAcceptedCount());
+    }
+
+    @Test
+    public void testAcquireRemoteClientTopicLimit() {
+        final PublishRateLimiter limiter = new PublishRateLimiter(1, 1, 1, 1);
+        final Client client = newClient(buildUri(null, REMOTE_SERVER, null));
+        limiter.acquire(REMOTE_RESOURCE_URI, client);
+        assertRejected(limiter, REMOTE_RESOURCE_URI, client, "topic");
+    }
+
+    @Test
+    public void testAcquireTopicLimit() {
+        final PublishRateLimiter limiter = new PublishRateLimiter(1, 1, 1, 1);
+        limiter.acquire(RESOURCE_URI, mClient);
+        assertRejected(limiter, RESOURCE_URI, mClient2, "topic");
+        // The client budget is returned when the topic budget is exhausted
+        limiter.acquire(RESOURCE2_URI, mClient2);
+        assertEquals(1, limiter.getBudget(mClient2).getAcceptedCount());
+        assertEquals(1, limiter.getBudget(mClient2).getRejectedCount());
+    }
+
+    @Test
+    public void testTopicBudgetsEvictedLeastRecentlyUsed() {
+        final PublishRateLimiter limiter = new PublishRateLimiter(0, 0, 1, 1, 2);
+        limiter.acquire(RESOURCE_URI, mClient);
+        limiter.acquire(RESOURCE2_URI, mClient);
+        assertRejected(limiter, RESOURCE_URI, mClient, "topic");
+        limiter.acquire(REMOTE_RESOURCE_URI, mClient);
+        assertEquals(2, limiter.getTopicBudgetCount());
+        assertNull(limiter.getBudget(RESOURCE2_URI));
+        assertNotNull(limiter.getBudget(REMOTE_RESOURCE_URI));
+        // Still limited, the budget was kept
+        assertRejected(limiter, RESOURCE_URI, mClient, "topic");
+    }
+
+    @Test
+    public void testRemoveClient() {
+        final PublishRateLimiter limiter = new PublishRateLimiter(1, 1, 0, 0);
+        limiter.acquire(RESOURCE_URI, mClient);
+        limiter.removeClient(mClient);
+        assertNull(limiter.getBudget(mClient));
+        limiter.acquire(RESOURCE_URI, mClient);
+    }
+
+    @Test
+    public void testRemoveTopic() {
+        final PublishRateLimiter limiter = new PublishRateLimiter(0, 0, 1, 1);
+        limiter.acquire(RESOURCE_URI, mClient);
+        limiter.removeTopic(RESOURCE_URI);
+        assertNull(limiter.getBudget(RESOURCE_URI));
+        limiter.acquire(RESOURCE_URI, mClient);
+    }
+
+    @Test
+    public void testClear() {
+        final PublishRateLimiter limiter = new PublishRateLimiter(1, 1, 1, 1);
+        limiter.acquire(RESOURCE_URI, mClient);
+        assertNotNull(limiter.getBudget(mClient));
+        limiter.clear();
+        assertNull(limiter.getBudget(mClient));
+        assertNull(limiter.getBudget(RESOURCE_URI));
+    }
+
+    @Test
+    public void testBudgetToString() {
+        final PublishRateLimiter limiter = new PublishRateLimiter(10, 0, 10, 0);
+        limiter.acquire(RESOURCE_URI, mClient);
+        assertTrue(limiter.getBudget(RESOURCE_URI).toString().startsWith("{accepted: 1, rejected: 0, budget: "));
+        assertTrue(limiter.getBudget(mClient).toString().startsWith("{accepted: 1, rejected: 0, budget: "));
+    }
+
+    @Test
+    public void testBudgetToStringUnlimited() {
+        final PublishRateLimiter limiter = new PublishRateLimiter(0, 0, 0, 0);
+        limiter.acquire(RESOURCE_URI, mClient);
+        assertEquals("{accepted: 1, rejected: 0}", limiter.getBudget(mClient).toString());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.ubus;
+
+import static org.eclipse.uprotocol.transport.builder.UPayloadBuilder.packToAny;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.google.protobuf.Int32Value;
+
+import org.eclipse.uprotocol.core.TestBase;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UPayload;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+@RunWith(AndroidJUnit4.class)
+public class ResponseCacheTest extends TestBase {
+    private static final UPayload PAYLOAD2 = packToAny(Int32Value.newBuilder().setValue(102).build());
+    private static final UPayload PAYLOAD3 = packToAny(Int32Value.newBuilder().setValue(103).build());
+
+    private ResponseCache mCache;
+    private UMessage mResponseMessage;
+
+    @Before
+    public void setUp() {
+        mCache = new ResponseCache(TTL, TimeUnit.MILLISECONDS, 2);
+        mResponseMessage = buildResponseMessage(buildRequestMessage());
+    }
+
+    @Test
+    public void testGet() {
+        mCache.put(PAYLOAD, mResponseMessage);
+        assertEquals(mResponseMessage, mCache.get(PAYLOAD));
+        assertEquals(1, mCache.getHitCount());
+        assertEquals(0, mCache.getMissCount());
+    }
+
+    @Test
+    public void testGetMissing() {
+        mCache.put(PAYLOAD, mResponseMessage);
+        assertNull(mCache.get(PAYLOAD2));
+        assertEquals(0, mCache.getHitCount());
+        assertEquals(1, mCache.getMissCount());
+    }
+
+    @Test
+    public void testGetExpired() {
+        mCache = new ResponseCache(DELAY_MS, TimeUnit.MILLISECONDS, 2);
+        mCache.put(PAYLOAD, mResponseMessage);
+        sleep(DELAY_MS);
+        assertNull(mCache.get(PAYLOAD));
+        assertEquals(0, mCache.size());
+        assertEquals(1, mCache.getMissCount());
+    }
+
+    @Test
+    public void testPutEvictsLeastRecentlyUsed() {
+        mCache.put(PAYLOAD, mResponseMessage);
+        mCache.put(PAYLOAD2, mResponseMessage);
+        assertEquals(mResponseMessage, mCache.get(PAYLOAD));
+        mCache.put(PAYLOAD3, mResponseMessage);
+        assertEquals(2, mCache.size());
+        assertEquals(mResponseMessage, mCache.get(PAYLOAD));
+        assertNull(mCache.get(PAYLOAD2));
+        assertEquals(mResponseMessage, mCache.get(PAYLOAD3));
+    }
+
+    @Test
+    public void testClear() {
+        mCache.put(PAYLOAD, mResponseMessage);
+        mCache.clear();
+        assertEquals(0, mCache.size());
+        assertNull(mCache.get(PAYLOAD));
+    }
+
+    @Test
+    public void testPutGeneration() {
+        final long generation = mCache.getGeneration();
+        assertTrue(mCache.put(PAYLOAD, mResponseMessage, generation));
+        assertEquals(mResponseMessage, mCache.get(PAYLOAD));
+    }
+
+    @Test
+    public void testPutStaleGeneration() {
+        final long generation = mCache.getGeneration();
+        mCache.clear();
+        assertFalse(mCache.put(PAYLOAD, mResponseMessage, generation));
+        assertEquals(0, mCache.size());
+    }
+
+    @Test
+    public void testToString() {
+        mCache.put(PAYLOAD, mResponseMessage);
+        mCache.get(PAYLOAD);
+        mCache.get(PAYLOAD);
+        mCache.get(PAYLOAD);
+        mCache.get(PAYLOAD2);
+        assertEquals("{hits: 3, misses: 1, hit_ratio: 75%, size: 1}", mCache.toString());
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.ubus;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import android.os.Binder;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.eclipse.uprotocol.core.TestBase;
+import org.eclipse.uprotocol.core.ubus.RouteTable.Route;
+import org.eclipse.uprotocol.core.ubus.client.Client;
+import org.eclipse.uprotocol.core.ubus.client.Credentials;
+import org.eclipse.uprotocol.core.ubus.client.InternalClient;
+import org.eclipse.uprotocol.transport.UListener;
+import org.eclipse.uprotocol.v1.UUri;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+@RunWith(AndroidJUnit4.class)
+public class RouteTableTest extends TestBase {
+    private static final int BENCHMARK_ITERATIONS = 10000;
+
+    private SubscriptionCache mSubscriptionCache;
+    private LinkedClients mLinkedClients;
+    private RouteTable mRouteTable;
+
+    @Before
+    public void setUp() {
+        mSubscriptionCache = new SubscriptionCache();
+        mLinkedClients = new LinkedClients();
+        mRouteTable = new RouteTable(mSubscriptionCache, mLinkedClients);
+    }
+
+    private static Client newClient(UUri clientUri) {
+        final Credentials credentials = new Credentials(PACKAGE_NAME, 0, 0, clientUri);
+        return new InternalClient(credentials, new Binder(), mock(UListener.class));
+    }
+
+    private Client subscribeAndLink(UUri topic, UUri clientUri) {
+        final Client client = newClient(clientUri);
+        mSubscriptionCache.addSubscriber(topic, clientUri);
+        mLinkedClients.linkToDispatch(topic, client);
+        return client;
+    }
+
+    @Test
+    public void testGetRouteEmpty() {
+        assertSame(Route.EMPTY, mRouteTable.getRoute(RESOURCE_URI));
+    }
+
+    @Test
+    public void testGetRoute() {
+        final Client client = subscribeAndLink(RESOURCE_URI, CLIENT_URI);
+        mSubscriptionCache.addSubscriber(RESOURCE_URI, REMOTE_CLIENT_URI);
+        mLinkedClients.linkToDispatch(RESOURCE_URI, newClient(CLIENT2_URI)); // Not subscribed
+        final Route route = mRouteTable.getRoute(RESOURCE_URI);
+        assertArrayEquals(new Client[] { client }, route.clients);
+        assertArrayEquals(new UUri[] { REMOTE_CLIENT_URI }, route.remoteSinks);
+        assertSame(route, mRouteTable.getRoute(RESOURCE_URI));
+    }
+
+    @Test
+    public void testGetRouteConflated() {
+        final Client client1 = subscribeAndLink(RESOURCE_URI, CLIENT_URI);
+        final Client client2 = newClient(CLIENT2_URI);
+        mSubscriptionCache.addSubscriber(RESOURCE_URI, CLIENT2_URI);
+        mLinkedClients.linkToDispatch(RESOURCE_URI, client2, true);
+        final Route route = mRouteTable.getRoute(RESOURCE_URI);
+        assertEquals(2, route.clients.length);
+        for (int i = 0; i < route.clients.length; i++) {
+            assertEquals(route.clients[i] == client2, route.conflated[i]);
+        }
+        assertTrue(Arrays.asList(route.clients).contains(client1));
+    }
+
+    @Test
+    public void testGetRouteNotLinked() {
+        mSubscriptionCache.addSubscriber(RESOURCE_URI, CLIENT_URI);
+        final Route route = mRouteTable.getRoute(RESOURCE_URI);
+        assertEquals(0, route.clients.length);
+        assertEquals(0, route.remoteSinks.length);
+    }
+
+    @Test
+    public void testRebuiltAfterLink() {
+        mSubscriptionCache.addSubscriber(RESOURCE_URI, CLIENT_URI);
+        final Route route1 = mRouteTable.getRoute(RESOURCE_URI);
+        final Client client = newClient(CLIENT_URI);
+        mLinkedClients.linkToDispatch(RESOURCE_URI, client);
+        final Route route2 = mRouteTable.getRoute(RESOURCE_URI);
+        assertNotSame(route1, route2);
+        assertArrayEquals(new Client[] { client }, route2.clients);
+        assertEquals(0, route1.clients.length);
+    }
+
+    @Test
+    public void testRebuiltAfterUnlink() {
+        final Client client = subscribeAndLink(RESOURCE_URI, CLIENT_URI);
+        assertEquals(1, mRouteTable.getRoute(RESOURCE_URI).clients.length);
+        mLinkedClients.unlinkFromDispatch(RESOURCE_URI, client);
+        assertEquals(0, mRouteTable.getRoute(RESOURCE_URI).clients.length);
+    }
+
+    @Test
+    public void testRebuiltAfterClientUnlink() {
+        final Client client = subscribeAndLink(RESOURCE_URI, CLIENT_URI);
+        mLinkedClients.linkToDispatch(RESOURCE2_URI, client);
+        mSubscriptionCache.addSubscriber(RESOURCE2_URI, CLIENT_URI);
+        assertEquals(1, mRouteTable.getRoute(RESOURCE_URI).clients.length);
+        assertEquals(1, mRouteTable.getRoute(RESOURCE2_URI).clients.length);
+        mLinkedClients.unlinkFromDispatch(client);
+        assertEquals(0, mRouteTable.getRoute(RESOURCE_URI).clients.length);
+        assertEquals(0, mRouteTable.getRoute(RESOURCE2_URI).clients.length);
+    }
+
+    @Test
+    public void testRebuiltAfterSubscriptionChange() {
+        final Client client = subscribeAndLink(RESOURCE_URI, CLIENT_URI);
+        assertEquals(1, mRouteTable.getRoute(RESOURCE_URI).clients.length);
+        mSubscriptionCache.removeSubscriber(RESOURCE_URI, CLIENT_URI);
+        assertEquals(0, mRouteTable.getRoute(RESOURCE_URI).clients.length);
+        mSubscriptionCache.addSubscriber(RESOURCE_URI, CLIENT_URI);
+        assertArrayEquals(new Client[] { client }, mRouteTable.getRoute(RESOURCE_URI).clients);
+    }
+
+    @Test
+    public void testRebuiltAfterTopicRemoved() {
+        subscribeAndLink(RESOURCE_URI, CLIENT_URI);
+        assertEquals(1, mRouteTable.getRoute(RESOURCE_URI).clients.length);
+        mSubscriptionCache.removeTopic(RESOURCE_URI);
+        assertEquals(0, mRouteTable.getRoute(RESOURCE_URI).clients.length);
+    }
+
+    @Test
+    public void testRebuiltAfterCacheCleared() {
+        subscribeAndLink(RESOURCE_URI, CLIENT_URI);
+        assertEquals(1, mRouteTable.getRoute(RESOURCE_URI).clients.length);
+        mSubscriptionCache.clear();
+        assertEquals(0, mRouteTable.getRoute(RESOURCE_URI).clients.length);
+        subscribeAndLink(RESOURCE_URI, CLIENT_URI);
+        assertEquals(1, mRouteTable.getRoute(RESOURCE_URI).clients.length);
+        mLinkedClients.clear();
+        assertEquals(0, mRouteTable.getRoute(RESOURCE_URI).clients.length);
+    }
+
+    @Test
+    public void testClear() {
+        mRouteTable.getRoute(RESOURCE_URI);
+        assertEquals(1, mRouteTable.size());
+        mRouteTable.clear();
+        assertEquals(0, mRouteTable.size());
+    }
+
+    @Test
+    public void testBenchmarkFanOut() {
+        assumeBenchmarkEnabled();
+        for (int count : new int[] { 1, 10, 100, 1000 }) {
+            setUp();
+            for (int i = 0; i < count; i++) {
+                subscribeAndLink(RESOURCE_URI, buildUri(null, buildEntity("test.app" + i, 1), null));
+            }
+            final long snapshotTime = measure(() -> {
+                int visited = 0;
+                for (Client client : mRouteTable.getRoute(RESOURCE_URI).clients) {
+                    visited += (client != null) ? 1 : 0;
+                }
+                return visited;
+            }, count);
+            final long legacyTime = measure(() -> {
+                final LinkedList<Client> clients = new LinkedList<>();
+                mSubscriptionCache.getSubscribers(RESOURCE_URI).forEach(sink ->
+                        mLinkedClients.getClients(RESOURCE_URI, sink, Collectors.toCollection(() -> clients)));
+                return clients.size();
+            }, count);
+            System.out.println(String.format(Locale.US, "Fan-out to %4d subscriber(s): snapshot %,10d ns/op, " +
+                    "legacy %,12d ns/op", count, snapshotTime, legacyTime));
+        }
+    }
+
+    private static long measure(IntSupplierTask task, int expected) {
+        final int iterations = Math.max(BENCHMARK_ITERATIONS / expected, 10);
+        for (int i = 0; i < iterations; i++) { // Warm up
+            assertEquals(expected, task.run());
+        }
+        final long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        return (System.nanoTime() - startTime) / iterations;
+    }
+
+    private interface IntSupplierTask {
+        int run();
+    }
+}
@@ -25,13 +25,26 @@ package org.eclipse.uprotocol.core.ubus;
 
 import static org.eclipse.uprotocol.common.util.log.Formatter.stringify;
 import static org.eclipse.uprotocol.core.internal.util.UMessageUtils.buildFailedResponseMessage;
+import static org.eclipse.uprotocol.core.ubus.UBus.FLAG_CACHE_RESPONSES;
+import static org.eclipse.uprotocol.core.ubus.UBus.FLAG_COALESCE_REQUESTS;
+import static org.eclipse.uprotocol.core.ubus.UBus.FLAG_SERVER_POOL;
+import static org.eclipse.uprotocol.core.ubus.UBus.FLAG_SERVER_POOL_ROUND_ROBIN;
+import static org.eclipse.uprotocol.transport.builder.UPayloadBuilder.packToAny;
+import static org.eclipse.uprotocol.uuid.factory.UuidUtils.isExpired;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
@@ -48,6 +61,8 @@ import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 
+import com.google.protobuf.Int32Value;
+
 import org.eclipse.uprotocol.core.TestBase;
 import org.eclipse.uprotocol.core.UCore;
 import org.eclipse.uprotocol.core.ubus.client.Client;
@@ -56,19 +71,33 @@ import org.eclipse.uprotocol.transport.UListener;
 import org.eclipse.uprotocol.v1.UCode;
 import org.eclipse.uprotocol.v1.UEntity;
 import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.UStatus;
 import org.eclipse.uprotocol.v1.UUri;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.robolectric.RuntimeEnvironment;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @RunWith(AndroidJUnit4.class)
 public class RpcHandlerTest extends TestBase {
+    private static final int BENCHMARK_REQUESTS_PER_CALLER = 200;
+
     private RpcHandler mRpcHandler;
     private ClientManager mClientManager;
     private Dispatcher mDispatcher;
@@ -120,6 +149,11 @@ public class RpcHandlerTest extends TestBase {
         return server;
     }
 
+    private void simulateDeath(@NonNull Client client) {
+        requireNonNull(client.getDeathRecipient()).binderDied();
+        assertTrue(mClientManager.awaitCleanup(DELAY_LONG_MS, TimeUnit.MILLISECONDS));
+    }
+
     @SuppressWarnings("UnusedReturnValue")
     private @NonNull Client registerRemoteServer(@NonNull IBinder clientToken) {
         assertStatus(UCode.OK, mClientManager.registerClient(PACKAGE_NAME, REMOTE_SERVER, clientToken, mock(UListener.class)));
@@ -209,7 +243,7 @@ public class RpcHandlerTest extends TestBase {
     public void testUnregisterServerDied() {
         registerServer(METHOD_URI, mServer);
         registerServer(METHOD2_URI, mServer);
-        requireNonNull(mServer.getDeathRecipient()).binderDied();
+        simulateDeath(mServer);
         assertNull(mRpcHandler.getServer(METHOD_URI));
         assertNull(mRpcHandler.getServer(METHOD2_URI));
     }
@@ -219,10 +253,52 @@ public class RpcHandlerTest extends TestBase {
         registerServer(METHOD_URI, mServer);
         mRpcHandler.getServers().remove(METHOD_URI);
         final Client newServer = registerNewServer(METHOD_URI);
-        requireNonNull(mServer.getDeathRecipient()).binderDied();
+        simulateDeath(mServer);
         assertEquals(newServer, mRpcHandler.getServer(METHOD_URI));
     }
 
+    @Test
+    public void testRegisterServerPool() {
+        final Client server2 = registerNewClient(SERVICE);
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_SERVER_POOL, mServer));
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_SERVER_POOL, server2));
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_SERVER_POOL, server2));
+        assertEquals(List.of(mServer, server2), mRpcHandler.getServers().get(METHOD_URI).getMembers());
+        assertEquals(Set.of(METHOD_URI), mRpcHandler.getMethods(server2));
+    }
+
+    @Test
+    public void testRegisterServerPoolOtherPolicy() {
+        final Client server2 = registerNewClient(SERVICE);
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_SERVER_POOL, mServer));
+        assertStatus(UCode.ALREADY_EXISTS, mRpcHandler.registerServer(METHOD_URI, 0, server2));
+        assertStatus(UCode.ALREADY_EXISTS, mRpcHandler.registerServer(METHOD_URI, FLAG_SERVER_POOL_ROUND_ROBIN, server2));
+        assertEquals(List.of(mServer), mRpcHandler.getServers().get(METHOD_URI).getMembers());
+    }
+
+    @Test
+    public void testUnregisterServerPoolMember() {
+        final Client server2 = registerNewClient(SERVICE);
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_SERVER_POOL, mServer));
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_SERVER_POOL, server2));
+        assertStatus(UCode.OK, mRpcHandler.unregisterServer(METHOD_URI, mServer));
+        assertEquals(server2, mRpcHandler.getServer(METHOD_URI));
+        assertStatus(UCode.NOT_FOUND, mRpcHandler.unregisterServer(METHOD_URI, mServer));
+        assertStatus(UCode.OK, mRpcHandler.unregisterServer(METHOD_URI, server2));
+        assertNull(mRpcHandler.getServer(METHOD_URI));
+        assertFalse(mRpcHandler.getServers().containsKey(METHOD_URI));
+    }
+
+    @Test
+    public void testUnregisterServerPoolMemberDied() {
+        final Client server2 = registerNewClient(SERVICE);
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_SERVER_POOL, mServer));
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_SERVER_POOL, server2));
+        simulateDeath(mServer);
+        assertEquals(server2, mRpcHandler.getServer(METHOD_URI));
+        assertEquals(List.of(server2), mRpcHandler.getServers().get(METHOD_URI).getMembers());
+    }
+
     @Test
     @SuppressWarnings("DataFlowIssue")
     public void testUnregisterServerNegative() {
@@ -266,7 +342,7 @@ public class RpcHandlerTest extends TestBase {
     public void testHandleRequestMessageExpired() {
         registerServer(METHOD_URI, mServer);
         final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI, 1);
-        sleep(DELAY_MS);
+        assertEventually(() -> isExpired(requestMessage.getAttributes()));
         assertStatus(UCode.DEADLINE_EXCEEDED, mRpcHandler.handleRequestMessage(requestMessage, mClient));
     }
 
@@ -280,7 +356,6 @@ public class RpcHandlerTest extends TestBase {
     @Test
     public void testHandleRequestMessageNoServer() {
         final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI);
-        sleep(DELAY_MS);
         assertStatus(UCode.UNAVAILABLE, mRpcHandler.handleRequestMessage(requestMessage, mClient));
     }
 
@@ -295,6 +370,47 @@ public class RpcHandlerTest extends TestBase {
         verify(mDispatcher, timeout(DELAY_LONG_MS + DELAY_MS).times(2)).dispatchTo(requestMessage, mServer);
     }
 
+    private void setRetryPolicy(@NonNull UUri methodUri, @NonNull Client server, int maxRetries, long delay) {
+        assertStatus(UCode.OK, mRpcHandler.setMethodPolicy(methodUri,
+                new MethodPolicy.Builder().setMaxRetries(maxRetries).setRetryDelay(delay, delay * 4).build(), server));
+    }
+
+    @Test
+    public void testHandleRequestMessageRetriedWithBackoff() {
+        registerServer(METHOD_URI, mServer);
+        setRetryPolicy(METHOD_URI, mServer, 3, 10);
+        final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI, 5000);
+        when(mDispatcher.dispatchTo(requestMessage, mServer)).thenReturn(false);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage, mClient));
+        verify(mDispatcher, timeout(DELAY_LONG_MS).times(4)).dispatchTo(requestMessage, mServer);
+        assertEventually(() -> mRpcHandler.getPostponedRequestCount(METHOD_URI) == 1);
+        verify(mDispatcher, after(DELAY_MS).times(4)).dispatchTo(requestMessage, mServer);
+        assertTrue(dump().contains("Retries: {attempts: 3, succeeded: 0, failed: 3, exhausted: 1}"));
+    }
+
+    @Test
+    public void testHandleRequestMessageRetrySucceeded() {
+        registerServer(METHOD_URI, mServer);
+        setRetryPolicy(METHOD_URI, mServer, 3, 10);
+        final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI, 5000);
+        when(mDispatcher.dispatchTo(requestMessage, mServer)).thenReturn(false, true);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage, mClient));
+        verify(mDispatcher, timeout(DELAY_MS).times(2)).dispatchTo(requestMessage, mServer);
+        assertEventually(() -> dump().contains("Retries: {attempts: 1, succeeded: 1, failed: 0, exhausted: 0}"));
+        assertEquals(0, mRpcHandler.getPostponedRequestCount(METHOD_URI));
+    }
+
+    @Test
+    public void testHandleRequestMessageRetryBoundedByTtl() {
+        registerServer(METHOD_URI, mServer);
+        setRetryPolicy(METHOD_URI, mServer, 3, DELAY_LONG_MS);
+        final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI, DELAY_MS);
+        when(mDispatcher.dispatchTo(requestMessage, mServer)).thenReturn(false);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage, mClient));
+        assertEventually(() -> dump().contains("exhausted: 1}"));
+        verify(mDispatcher, times(1)).dispatchTo(requestMessage, mServer);
+    }
+
     @Test
     public void testHandleRequestMessageSkipRetryWhenDispatched() {
         registerServer(METHOD_URI, mServer);
@@ -326,6 +442,559 @@ public class RpcHandlerTest extends TestBase {
         verify(mDispatcher, timeout(DELAY_LONG_MS).atLeast(3)).dispatchTo(requestMessage, mServer);
     }
 
+    @Test
+    public void testHandleRequestMessagePostponed() {
+        registerServer(METHOD_URI, mServer);
+        final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        when(mDispatcher.dispatchTo(requestMessage, mServer)).thenReturn(false);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage, mClient));
+        assertEquals(1, mRpcHandler.getPostponedRequestCount(METHOD_URI));
+        // Retry succeeded
+        when(mDispatcher.dispatchTo(requestMessage, mServer)).thenReturn(true);
+        verify(mDispatcher, timeout(DELAY_LONG_MS + DELAY_MS).times(2)).dispatchTo(requestMessage, mServer);
+        assertEquals(0, mRpcHandler.getPostponedRequestCount(METHOD_URI));
+    }
+
+    @Test
+    public void testHandleRequestMessagePostponedInOrder() {
+        registerServer(METHOD_URI, mServer);
+        final UMessage requestMessage1 = buildRequestMessage(RESPONSE_URI, METHOD_URI, 5000);
+        final UMessage requestMessage2 = buildRequestMessage(RESPONSE_URI, METHOD_URI, 5000);
+        final UMessage requestMessage3 = buildRequestMessage(RESPONSE_URI, METHOD2_URI, 5000);
+        doReturn(false).when(mDispatcher).dispatchTo(any(UMessage.class), any(Client.class));
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage1, mClient));
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage2, mClient));
+        verify(mDispatcher, timeout(DELAY_LONG_MS + DELAY_MS).times(2)).dispatchTo(requestMessage2, mServer);
+        assertEquals(2, mRpcHandler.getPostponedRequestCount(METHOD_URI));
+        assertStatus(UCode.OK, mRpcHandler.unregisterServer(METHOD_URI, mServer));
+        registerServer(METHOD2_URI, mServer);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage3, mClient));
+        // Only requests waiting for the registered method are dispatched, in arrival order
+        doReturn(true).when(mDispatcher).dispatchTo(any(UMessage.class), any(Client.class));
+        registerServer(METHOD_URI, mServer);
+        final InOrder inOrder = inOrder(mDispatcher);
+        inOrder.verify(mDispatcher, timeout(DELAY_MS)).dispatchTo(requestMessage1, mServer);
+        inOrder.verify(mDispatcher, timeout(DELAY_MS)).dispatchTo(requestMessage2, mServer);
+        assertEquals(0, mRpcHandler.getPostponedRequestCount(METHOD_URI));
+        assertEquals(1, mRpcHandler.getPostponedRequestCount(METHOD2_URI));
+    }
+
+    @Test
+    public void testHandleRequestMessagePostponedTimeout() {
+        registerServer(METHOD_URI, mServer);
+        final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI, 100);
+        when(mDispatcher.dispatchTo(requestMessage, mServer)).thenReturn(false);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage, mClient));
+        assertEquals(1, mRpcHandler.getPostponedRequestCount(METHOD_URI));
+        assertEventually(() -> mRpcHandler.getPostponedRequestCount(METHOD_URI) == 0);
+    }
+
+    @Test
+    public void testHandleRequestMessageServerDied() {
+        registerServer(METHOD_URI, mServer);
+        final UListener listener = mock(UListener.class);
+        final Client client = registerNewClient(CLIENT, new Binder(), listener);
+        final UMessage requestMessage = buildRequestMessage(buildResponseUri(client.getUri()), METHOD_URI, 5000);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage, client));
+        simulateDeath(mServer);
+        // Failed without waiting for timeout
+        final ArgumentCaptor<UMessage> captor = ArgumentCaptor.forClass(UMessage.class);
+        verify(listener, timeout(DELAY_MS).times(1)).onReceive(captor.capture());
+        assertEquals(requestMessage.getAttributes().getId(), captor.getValue().getAttributes().getReqid());
+        assertEquals(UCode.UNAVAILABLE, captor.getValue().getAttributes().getCommstatus());
+        assertEquals(0, mRpcHandler.getPendingRequestCount());
+    }
+
+    @Test
+    public void testHandleRequestMessageServerDiedPostponed() {
+        registerServer(METHOD_URI, mServer);
+        final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI, 5000);
+        when(mDispatcher.dispatchTo(requestMessage, mServer)).thenReturn(false);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage, mClient));
+        simulateDeath(mServer);
+        // Still waiting for a new server
+        assertEquals(1, mRpcHandler.getPendingRequestCount());
+        assertEquals(1, mRpcHandler.getPostponedRequestCount(METHOD_URI));
+    }
+
+    @Test
+    public void testHandleRequestMessageCallerDied() {
+        registerServer(METHOD_URI, mServer);
+        final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI, 5000);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage, mClient));
+        assertEquals(1, mRpcHandler.getPendingRequestCount());
+        simulateDeath(mClient);
+        assertEquals(0, mRpcHandler.getPendingRequestCount());
+        assertStatus(UCode.CANCELLED, mRpcHandler.handleResponseMessage(buildResponseMessage(requestMessage), mServer));
+    }
+
+    @Test
+    public void testHandleRequestMessageCallerDiedPostponed() {
+        registerServer(METHOD_URI, mServer);
+        final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI, 5000);
+        when(mDispatcher.dispatchTo(requestMessage, mServer)).thenReturn(false);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage, mClient));
+        simulateDeath(mClient);
+        assertEquals(0, mRpcHandler.getPendingRequestCount());
+        assertEquals(0, mRpcHandler.getPostponedRequestCount(METHOD_URI));
+    }
+
+    @Test
+    public void testHandleRequestMessageMethodLimitExceeded() {
+        mRpcHandler.setLimits(1, 0, 0, 0);
+        registerServer(METHOD_URI, mServer);
+        final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage, mClient));
+        assertStatus(UCode.RESOURCE_EXHAUSTED,
+                mRpcHandler.handleRequestMessage(buildRequestMessage(RESPONSE_URI, METHOD_URI), mClient));
+        assertStatus(UCode.OK, mRpcHandler.handleResponseMessage(buildResponseMessage(requestMessage), mServer));
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(buildRequestMessage(RESPONSE_URI, METHOD_URI), mClient));
+    }
+
+    @Test
+    public void testHandleRequestMessageServerLimitExceeded() {
+        mRpcHandler.setLimits(0, 1, 0, 0);
+        registerServer(METHOD_URI, mServer);
+        registerServer(METHOD2_URI, mServer);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(buildRequestMessage(RESPONSE_URI, METHOD_URI), mClient));
+        assertStatus(UCode.RESOURCE_EXHAUSTED,
+                mRpcHandler.handleRequestMessage(buildRequestMessage(RESPONSE_URI, METHOD2_URI), mClient));
+    }
+
+    @Test
+    public void testHandleRequestMessageClientLimitExceeded() {
+        mRpcHandler.setLimits(0, 0, 1, 0);
+        registerServer(METHOD_URI, mServer);
+        final Client client = registerNewClient(CLIENT2);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(buildRequestMessage(RESPONSE_URI, METHOD_URI), mClient));
+        assertStatus(UCode.RESOURCE_EXHAUSTED,
+                mRpcHandler.handleRequestMessage(buildRequestMessage(RESPONSE_URI, METHOD_URI), mClient));
+        assertEquals(1, mRpcHandler.getPendingRequestCount());
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(
+                buildRequestMessage(buildResponseUri(client.getUri()), METHOD_URI), client));
+    }
+
+    @Test
+    public void testHandleRequestMessageRemoteServerLimitNotApplied() {
+        mRpcHandler.setLimits(0, 1, 0, 0);
+        registerRemoteServer(new Binder());
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(buildRequestMessage(RESPONSE_URI, REMOTE_METHOD_URI), mClient));
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(buildRequestMessage(RESPONSE_URI, REMOTE_METHOD_URI), mClient));
+    }
+
+    @Test
+    public void testHandleRequestMessageRemoteClientLimitNotApplied() {
+        mRpcHandler.setLimits(0, 0, 1, 0);
+        registerServer(METHOD_URI, mServer);
+        final Client client = registerRemoteServer(new Binder());
+        final UUri responseUri = buildResponseUri(REMOTE_CLIENT_URI);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(buildRequestMessage(responseUri, METHOD_URI), client));
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(buildRequestMessage(responseUri, METHOD_URI), client));
+    }
+
+    @Test
+    public void testHandleRequestMessageClientLimitConcurrent() throws Exception {
+        final int limit = 10;
+        final int callerCount = 4;
+        mRpcHandler.setLimits(0, 0, limit, 0);
+        registerServer(METHOD_URI, mServer);
+        final ExecutorService executor = Executors.newFixedThreadPool(callerCount);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < callerCount; i++) {
+            futures.add(executor.submit(() -> {
+                latch.await();
+                int accepted = 0;
+                for (int j = 0; j < limit; j++) {
+                    final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+                    if (mRpcHandler.handleRequestMessage(requestMessage, mClient).getCode() == UCode.OK) {
+                        accepted++;
+                    }
+                }
+                return accepted;
+            }));
+        }
+        latch.countDown();
+        int accepted = 0;
+        for (Future<Integer> future : futures) {
+            accepted += future.get(DELAY_LONG_MS, TimeUnit.MILLISECONDS);
+        }
+        executor.shutdown();
+        assertEquals(limit, accepted);
+        assertEquals(limit, mRpcHandler.getCallerRequestCount(mClient));
+    }
+
+    @Test
+    public void testHandleRequestMessageTimeoutUntracked() {
+        registerServer(METHOD_URI, mServer);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(buildRequestMessage(RESPONSE_URI, METHOD_URI, 100),
+                mClient));
+        assertEquals(1, mRpcHandler.getCallerRequestCount(mClient));
+        assertEventually(() -> mRpcHandler.getPendingRequestCount() == 0);
+        assertEquals(0, mRpcHandler.getCallerRequestCount(mClient));
+    }
+
+    @Test
+    public void testHandleRequestMessagePostponedLimitExceeded() {
+        mRpcHandler.setLimits(0, 0, 0, 1);
+        registerServer(METHOD_URI, mServer);
+        final UListener listener = mock(UListener.class);
+        final Client client = registerNewClient(CLIENT, new Binder(), listener);
+        final UMessage requestMessage1 = buildRequestMessage(buildResponseUri(client.getUri()), METHOD_URI, 5000);
+        final UMessage requestMessage2 = buildRequestMessage(buildResponseUri(client.getUri()), METHOD_URI, 5000);
+        when(mDispatcher.dispatchTo(requestMessage1, mServer)).thenReturn(false);
+        when(mDispatcher.dispatchTo(requestMessage2, mServer)).thenReturn(false);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage1, client));
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage2, client));
+        // Wait queue is full
+        final ArgumentCaptor<UMessage> captor = ArgumentCaptor.forClass(UMessage.class);
+        verify(listener, timeout(DELAY_MS).times(1)).onReceive(captor.capture());
+        assertEquals(requestMessage2.getAttributes().getId(), captor.getValue().getAttributes().getReqid());
+        assertEquals(UCode.RESOURCE_EXHAUSTED, captor.getValue().getAttributes().getCommstatus());
+        assertEquals(1, mRpcHandler.getPostponedRequestCount(METHOD_URI));
+        assertEquals(1, mRpcHandler.getPendingRequestCount());
+    }
+
+    @Test
+    public void testHandleRequestMessagePoolLeastOutstanding() {
+        final Client server2 = registerNewClient(SERVICE);
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_SERVER_POOL, mServer));
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_SERVER_POOL, server2));
+        final UMessage requestMessage1 = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        final UMessage requestMessage2 = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        final UMessage requestMessage3 = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage1, mClient));
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage2, mClient));
+        verify(mDispatcher, times(1)).dispatchTo(requestMessage1, mServer);
+        verify(mDispatcher, times(1)).dispatchTo(requestMessage2, server2);
+        assertStatus(UCode.OK, mRpcHandler.handleResponseMessage(buildResponseMessage(requestMessage1), mServer));
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage3, mClient));
+        verify(mDispatcher, times(1)).dispatchTo(requestMessage3, mServer);
+    }
+
+    @Test
+    public void testHandleRequestMessagePoolRoundRobin() {
+        final Client server2 = registerNewClient(SERVICE);
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_SERVER_POOL_ROUND_ROBIN, mServer));
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_SERVER_POOL_ROUND_ROBIN, server2));
+        for (int i = 0; i < 4; i++) {
+            assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(buildRequestMessage(RESPONSE_URI, METHOD_URI), mClient));
+        }
+        verify(mDispatcher, times(2)).dispatchTo(any(UMessage.class), eq(mServer));
+        verify(mDispatcher, times(2)).dispatchTo(any(UMessage.class), eq(server2));
+    }
+
+    @Test
+    public void testHandleRequestMessagePoolFailover() {
+        final Client server2 = registerNewClient(SERVICE);
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_SERVER_POOL, mServer));
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_SERVER_POOL, server2));
+        final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        when(mDispatcher.dispatchTo(requestMessage, mServer)).thenReturn(false);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage, mClient));
+        verify(mDispatcher, times(1)).dispatchTo(requestMessage, server2);
+        assertEquals(0, mRpcHandler.getPostponedRequestCount(METHOD_URI));
+        // Response from the member that received the request
+        assertStatus(UCode.OK, mRpcHandler.handleResponseMessage(buildResponseMessage(requestMessage), server2));
+    }
+
+    @Test
+    public void testSetMethodPolicy() {
+        final MethodPolicy policy = new MethodPolicy.Builder().setCoalescing(true).build();
+        assertStatus(UCode.OK, mRpcHandler.setMethodPolicy(METHOD_URI, policy, mServer));
+        assertEquals(policy, mRpcHandler.getMethodPolicy(METHOD_URI));
+        assertEquals(mRpcHandler.getDefaultMethodPolicy(), mRpcHandler.getMethodPolicy(METHOD2_URI));
+    }
+
+    @Test
+    public void testSetRetryLimits() {
+        mRpcHandler.setRetryLimits(2, 10, 40);
+        final MethodPolicy policy = mRpcHandler.getMethodPolicy(METHOD_URI);
+        assertFalse(policy.isCoalescing());
+        assertFalse(policy.isCaching());
+        assertEquals(2, policy.getMaxRetries());
+        assertEquals(10, policy.getRetryDelay());
+        assertEquals(40, policy.getMaxRetryDelay());
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_CACHE_RESPONSES, mServer));
+        assertEquals(2, mRpcHandler.getMethodPolicy(METHOD_URI).getMaxRetries());
+    }
+
+    @Test
+    public void testHandleRequestMessageNotRetriedWithoutRetries() {
+        mRpcHandler.setRetryLimits(0, 10, 40);
+        registerServer(METHOD_URI, mServer);
+        final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        when(mDispatcher.dispatchTo(requestMessage, mServer)).thenReturn(false);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage, mClient));
+        assertEventually(() -> dump().contains("exhausted: 1}"));
+        verify(mDispatcher, times(1)).dispatchTo(requestMessage, mServer);
+    }
+
+    @Test
+    public void testSetMethodPolicyNegative() {
+        assertStatus(UCode.INVALID_ARGUMENT, mRpcHandler.setMethodPolicy(EMPTY_URI, MethodPolicy.DEFAULT, mServer));
+        assertStatus(UCode.UNAUTHENTICATED, mRpcHandler.setMethodPolicy(METHOD_URI, MethodPolicy.DEFAULT, mClient));
+        assertEquals(mRpcHandler.getDefaultMethodPolicy(), mRpcHandler.getMethodPolicy(METHOD_URI));
+    }
+
+    private void setCoalescing(@NonNull UUri methodUri, @NonNull Client server) {
+        assertStatus(UCode.OK, mRpcHandler.setMethodPolicy(methodUri,
+                new MethodPolicy.Builder().setCoalescing(true).build(), server));
+    }
+
+    @Test
+    public void testHandleRequestMessageCoalesced() {
+        registerServer(METHOD_URI, mServer);
+        setCoalescing(METHOD_URI, mServer);
+        final Client client2 = registerNewClient(CLIENT2);
+        final UMessage requestMessage1 = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        final UMessage requestMessage2 = buildRequestMessage(buildResponseUri(CLIENT2_URI), METHOD_URI);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage1, mClient));
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage2, client2));
+        verify(mDispatcher, times(1)).dispatchTo(requestMessage1, mServer);
+        verify(mDispatcher, never()).dispatchTo(eq(requestMessage2), any(Client.class));
+        assertEquals(2, mRpcHandler.getPendingRequestCount());
+
+        final UMessage responseMessage = buildResponseMessage(requestMessage1);
+        assertStatus(UCode.OK, mRpcHandler.handleResponseMessage(responseMessage, mServer));
+        verify(mDispatcher, times(1)).dispatchTo(responseMessage, mClient);
+        final ArgumentCaptor<UMessage> captor = ArgumentCaptor.forClass(UMessage.class);
+        verify(mDispatcher, times(1)).dispatchTo(captor.capture(), eq(client2));
+        final UMessage coalescedResponseMessage = captor.getValue();
+        assertNotEquals(responseMessage.getAttributes().getId(), coalescedResponseMessage.getAttributes().getId());
+        assertEquals(requestMessage2.getAttributes().getId(), coalescedResponseMessage.getAttributes().getReqid());
+        assertEquals(requestMessage2.getAttributes().getSource(), coalescedResponseMessage.getAttributes().getSink());
+        assertEquals(responseMessage.getPayload(), coalescedResponseMessage.getPayload());
+        assertEquals(0, mRpcHandler.getPendingRequestCount());
+    }
+
+    @Test
+    public void testHandleRequestMessageCoalescedDifferentPayload() {
+        registerServer(METHOD_URI, mServer);
+        setCoalescing(METHOD_URI, mServer);
+        final UMessage requestMessage1 = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        final UMessage requestMessage2 = buildMessage(packToAny(Int32Value.newBuilder().setValue(102).build()),
+                newRequestAttributesBuilder(RESPONSE_URI, METHOD_URI).withTtl(TTL).build());
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage1, mClient));
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage2, mClient));
+        verify(mDispatcher, times(1)).dispatchTo(requestMessage1, mServer);
+        verify(mDispatcher, times(1)).dispatchTo(requestMessage2, mServer);
+    }
+
+    @Test
+    public void testHandleRequestMessageNotCoalesced() {
+        registerServer(METHOD_URI, mServer);
+        final UMessage requestMessage1 = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        final UMessage requestMessage2 = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage1, mClient));
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage2, mClient));
+        verify(mDispatcher, times(1)).dispatchTo(requestMessage1, mServer);
+        verify(mDispatcher, times(1)).dispatchTo(requestMessage2, mServer);
+    }
+
+    @Test
+    public void testHandleRequestMessageCoalescedFollowerTimeout() {
+        registerServer(METHOD_URI, mServer);
+        setCoalescing(METHOD_URI, mServer);
+        final Client client2 = registerNewClient(CLIENT2);
+        final UMessage requestMessage1 = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        final UMessage requestMessage2 = buildRequestMessage(buildResponseUri(CLIENT2_URI), METHOD_URI, DELAY_MS);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage1, mClient));
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage2, client2));
+        final ArgumentCaptor<UMessage> captor = ArgumentCaptor.forClass(UMessage.class);
+        verify(mDispatcher, timeout(DELAY_LONG_MS).times(1)).dispatchTo(captor.capture(), eq(client2));
+        assertEquals(requestMessage2.getAttributes().getId(), captor.getValue().getAttributes().getReqid());
+        assertEquals(UCode.DEADLINE_EXCEEDED, captor.getValue().getAttributes().getCommstatus());
+
+        final UMessage responseMessage = buildResponseMessage(requestMessage1);
+        assertStatus(UCode.OK, mRpcHandler.handleResponseMessage(responseMessage, mServer));
+        verify(mDispatcher, times(1)).dispatchTo(responseMessage, mClient);
+        verify(mDispatcher, times(1)).dispatchTo(any(UMessage.class), eq(client2));
+    }
+
+    @Test
+    public void testHandleRequestMessageCoalescedLeaderTimeout() {
+        registerServer(METHOD_URI, mServer);
+        setCoalescing(METHOD_URI, mServer);
+        final Client client2 = registerNewClient(CLIENT2);
+        final UMessage requestMessage1 = buildRequestMessage(RESPONSE_URI, METHOD_URI, DELAY_MS);
+        final UMessage requestMessage2 = buildRequestMessage(buildResponseUri(CLIENT2_URI), METHOD_URI);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage1, mClient));
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage2, client2));
+        // The follower takes over once the leader expires
+        verify(mDispatcher, timeout(DELAY_LONG_MS).times(1)).dispatchTo(requestMessage2, mServer);
+
+        final UMessage responseMessage = buildResponseMessage(requestMessage2);
+        assertStatus(UCode.OK, mRpcHandler.handleResponseMessage(responseMessage, mServer));
+        verify(mDispatcher, times(1)).dispatchTo(responseMessage, client2);
+        assertEquals(0, mRpcHandler.getPendingRequestCount());
+    }
+
+    @Test
+    public void testHandleRequestMessageCoalescedCallerDied() {
+        registerServer(METHOD_URI, mServer);
+        setCoalescing(METHOD_URI, mServer);
+        final Client client2 = registerNewClient(CLIENT2);
+        final UMessage requestMessage1 = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        final UMessage requestMessage2 = buildRequestMessage(buildResponseUri(CLIENT2_URI), METHOD_URI);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage1, mClient));
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage2, client2));
+        simulateDeath(mClient);
+        verify(mDispatcher, timeout(DELAY_LONG_MS).times(1)).dispatchTo(requestMessage2, mServer);
+        assertEquals(1, mRpcHandler.getPendingRequestCount());
+    }
+
+    private void setCaching(@NonNull UUri methodUri, @NonNull Client server) {
+        assertStatus(UCode.OK, mRpcHandler.setMethodPolicy(methodUri,
+                new MethodPolicy.Builder().setCacheTtl(TTL).build(), server));
+    }
+
+    private void handleCachedRequestMessage(@NonNull UMessage requestMessage) {
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage, mClient));
+        assertStatus(UCode.OK, mRpcHandler.handleResponseMessage(buildResponseMessage(requestMessage), mServer));
+    }
+
+    @Test
+    public void testHandleRequestMessageCached() {
+        registerServer(METHOD_URI, mServer);
+        setCaching(METHOD_URI, mServer);
+        final Client client2 = registerNewClient(CLIENT2);
+        handleCachedRequestMessage(buildRequestMessage(RESPONSE_URI, METHOD_URI));
+
+        final UMessage requestMessage = buildRequestMessage(buildResponseUri(CLIENT2_URI), METHOD_URI);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage, client2));
+        verify(mDispatcher, never()).dispatchTo(requestMessage, mServer);
+        final ArgumentCaptor<UMessage> captor = ArgumentCaptor.forClass(UMessage.class);
+        verify(mDispatcher, times(1)).dispatchTo(captor.capture(), eq(client2));
+        assertEquals(requestMessage.getAttributes().getId(), captor.getValue().getAttributes().getReqid());
+        assertEquals(requestMessage.getAttributes().getSource(), captor.getValue().getAttributes().getSink());
+        assertEquals(0, mRpcHandler.getPendingRequestCount());
+        assertEquals(1, requireNonNull(mRpcHandler.getResponseCache(METHOD_URI)).getHitCount());
+    }
+
+    @Test
+    public void testHandleRequestMessageCachedWithResponseTtl() {
+        registerServer(METHOD_URI, mServer);
+        setCaching(METHOD_URI, mServer);
+        final Client client2 = registerNewClient(CLIENT2);
+        final UMessage requestMessage1 = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage1, mClient));
+        final UMessage responseMessage = buildResponseMessage(requestMessage1, DELAY_MS);
+        assertStatus(UCode.OK, mRpcHandler.handleResponseMessage(responseMessage, mServer));
+        assertEventually(() -> isExpired(responseMessage.getAttributes()));
+
+        final UMessage requestMessage2 = buildRequestMessage(buildResponseUri(CLIENT2_URI), METHOD_URI);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage2, client2));
+        final ArgumentCaptor<UMessage> captor = ArgumentCaptor.forClass(UMessage.class);
+        verify(mDispatcher, times(1)).dispatchTo(captor.capture(), eq(client2));
+        assertEquals(requestMessage2.getAttributes().getId(), captor.getValue().getAttributes().getReqid());
+        assertEquals(0, mDispatcher.getExpiredCount(client2));
+    }
+
+    @Test
+    public void testRegisterServerCacheResponses() {
+        mRpcHandler.setResponseCacheLimits(TTL, 2);
+        assertStatus(UCode.OK, mRpcHandler.setMethodPolicy(METHOD_URI,
+                new MethodPolicy.Builder().setCoalescing(true).build(), mServer));
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_CACHE_RESPONSES, mServer));
+        final MethodPolicy policy = mRpcHandler.getMethodPolicy(METHOD_URI);
+        assertTrue(policy.isCoalescing());
+        assertEquals(TTL, policy.getCacheTtl());
+        assertEquals(2, policy.getCacheSize());
+        handleCachedRequestMessage(buildRequestMessage(RESPONSE_URI, METHOD_URI));
+        assertEquals(1, requireNonNull(mRpcHandler.getResponseCache(METHOD_URI)).size());
+    }
+
+    @Test
+    public void testRegisterServerCoalesceRequests() {
+        setCaching(METHOD_URI, mServer);
+        final ResponseCache cache = mRpcHandler.getResponseCache(METHOD_URI);
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_COALESCE_REQUESTS, mServer));
+        final MethodPolicy policy = mRpcHandler.getMethodPolicy(METHOD_URI);
+        assertTrue(policy.isCoalescing());
+        assertTrue(policy.isCaching());
+        assertEquals(cache, mRpcHandler.getResponseCache(METHOD_URI));
+        assertFalse(mRpcHandler.getMethodPolicy(METHOD2_URI).isCoalescing());
+    }
+
+    @Test
+    public void testRegisterServerCacheResponsesKeepsPolicy() {
+        setCaching(METHOD_URI, mServer);
+        final ResponseCache cache = mRpcHandler.getResponseCache(METHOD_URI);
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_CACHE_RESPONSES, mServer));
+        assertEquals(cache, mRpcHandler.getResponseCache(METHOD_URI));
+    }
+
+    @Test
+    public void testHandleRequestMessageNotCached() {
+        registerServer(METHOD_URI, mServer);
+        final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        handleCachedRequestMessage(requestMessage);
+        assertNull(mRpcHandler.getResponseCache(METHOD_URI));
+    }
+
+    @Test
+    public void testHandleRequestMessageCachedFailedResponse() {
+        registerServer(METHOD_URI, mServer);
+        setCaching(METHOD_URI, mServer);
+        final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage, mClient));
+        final UMessage responseMessage = buildFailedResponseMessage(requestMessage, UCode.UNKNOWN);
+        assertStatus(UCode.OK, mRpcHandler.handleResponseMessage(responseMessage, mServer));
+        assertEquals(0, requireNonNull(mRpcHandler.getResponseCache(METHOD_URI)).size());
+    }
+
+    @Test
+    public void testResponseCacheInvalidatedOnRegister() {
+        registerServer(METHOD_URI, mServer);
+        setCaching(METHOD_URI, mServer);
+        handleCachedRequestMessage(buildRequestMessage(RESPONSE_URI, METHOD_URI));
+        final ResponseCache cache = requireNonNull(mRpcHandler.getResponseCache(METHOD_URI));
+        assertEquals(1, cache.size());
+        registerServer(METHOD_URI, mServer);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testResponseCacheInvalidatedWhileDispatched() {
+        registerServer(METHOD_URI, mServer);
+        setCaching(METHOD_URI, mServer);
+        final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage, mClient));
+        registerServer(METHOD_URI, mServer);
+        assertStatus(UCode.OK, mRpcHandler.handleResponseMessage(buildResponseMessage(requestMessage), mServer));
+        assertEquals(0, requireNonNull(mRpcHandler.getResponseCache(METHOD_URI)).size());
+    }
+
+    @Test
+    public void testResponseCacheInvalidatedOnUnregister() {
+        registerServer(METHOD_URI, mServer);
+        setCaching(METHOD_URI, mServer);
+        handleCachedRequestMessage(buildRequestMessage(RESPONSE_URI, METHOD_URI));
+        final ResponseCache cache = requireNonNull(mRpcHandler.getResponseCache(METHOD_URI));
+        assertStatus(UCode.OK, mRpcHandler.unregisterServer(METHOD_URI, mServer));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testResponseCacheInvalidatedOnServerDied() {
+        registerServer(METHOD_URI, mServer);
+        setCaching(METHOD_URI, mServer);
+        handleCachedRequestMessage(buildRequestMessage(RESPONSE_URI, METHOD_URI));
+        final ResponseCache cache = requireNonNull(mRpcHandler.getResponseCache(METHOD_URI));
+        simulateDeath(mServer);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testResponseCacheRemoved() {
+        registerServer(METHOD_URI, mServer);
+        setCaching(METHOD_URI, mServer);
+        assertNotNull(mRpcHandler.getResponseCache(METHOD_URI));
+        assertStatus(UCode.OK, mRpcHandler.setMethodPolicy(METHOD_URI, MethodPolicy.DEFAULT, mServer));
+        assertNull(mRpcHandler.getResponseCache(METHOD_URI));
+    }
+
     @Test
     public void testHandleResponseMessage() {
         registerServer(METHOD_URI, mServer);
@@ -351,7 +1020,7 @@ public class RpcHandlerTest extends TestBase {
         final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI);
         assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage, mClient));
         final UMessage responseMessage = buildResponseMessage(requestMessage, 1);
-        sleep(DELAY_MS);
+        assertEventually(() -> isExpired(responseMessage.getAttributes()));
         assertStatus(UCode.DEADLINE_EXCEEDED, mRpcHandler.handleResponseMessage(responseMessage, mServer));
     }
 
@@ -384,6 +1053,42 @@ public class RpcHandlerTest extends TestBase {
         assertEquals(UCode.DEADLINE_EXCEEDED, responseMessage.getAttributes().getCommstatus());
     }
 
+    @Test
+    public void testHandleResponseMessageTimeoutWhileDispatcherBusy() {
+        registerServer(METHOD_URI, mServer);
+        final UListener listener = mock(UListener.class);
+        final Client client = registerNewClient(CLIENT, new Binder(), listener);
+        for (int i = 0; i < mDispatcher.getExecutor().getShardCount(); i++) {
+            mDispatcher.getExecutor().execute(i, () -> sleep(DELAY_LONG_MS));
+        }
+
+        final UMessage requestMessage = buildRequestMessage(buildResponseUri(client.getUri()), METHOD_URI, 100);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage, client));
+        // Timeout response is not blocked by dispatch backlog
+        final ArgumentCaptor<UMessage> captor = ArgumentCaptor.forClass(UMessage.class);
+        verify(listener, timeout(200).times(1)).onReceive(captor.capture());
+        assertEquals(UCode.DEADLINE_EXCEEDED, captor.getValue().getAttributes().getCommstatus());
+    }
+
+    @Test
+    @SuppressWarnings("BlockingMethodInNonBlockingContext")
+    public void testHandleResponseMessageWhileDispatching() throws Exception {
+        registerServer(METHOD_URI, mServer);
+        final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        final CountDownLatch latch = new CountDownLatch(1);
+        doAnswer(invocation -> latch.await(DELAY_LONG_MS, TimeUnit.MILLISECONDS))
+                .when(mDispatcher).dispatchTo(requestMessage, mServer);
+        final CompletableFuture<UStatus> future =
+                CompletableFuture.supplyAsync(() -> mRpcHandler.handleRequestMessage(requestMessage, mClient));
+        verify(mDispatcher, timeout(DELAY_MS).times(1)).dispatchTo(requestMessage, mServer);
+        // Response is not blocked by the request dispatch in progress
+        assertStatus(UCode.OK, mRpcHandler.handleResponseMessage(buildResponseMessage(requestMessage), mServer));
+        assertFalse(future.isDone());
+        latch.countDown();
+        assertStatus(UCode.OK, future.get(DELAY_MS, TimeUnit.MILLISECONDS));
+        assertEquals(0, mRpcHandler.getPostponedRequestCount(METHOD_URI));
+    }
+
     @Test
     public void testHandleResponseMessageAfterTimeout() {
         registerServer(METHOD_URI, mServer);
@@ -430,6 +1135,50 @@ public class RpcHandlerTest extends TestBase {
         assertTrue(output.contains(stringify(METHOD2_URI)));
     }
 
+    @Test
+    public void testDumpServerPool() {
+        final Client server2 = registerNewClient(SERVICE);
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_SERVER_POOL, mServer));
+        assertStatus(UCode.OK, mRpcHandler.registerServer(METHOD_URI, FLAG_SERVER_POOL, server2));
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(buildRequestMessage(RESPONSE_URI, METHOD_URI), mClient));
+        final String output = dump("-s", stringify(mServer.getEntity()));
+        assertTrue(output.contains(stringify(METHOD_URI) + " (least_outstanding, 2 member(s))"));
+        assertTrue(output.contains("Load: 1 outstanding request(s)"));
+        assertTrue(output.contains("Load: 0 outstanding request(s)"));
+    }
+
+    @Test
+    public void testDumpResponseCache() {
+        registerServer(METHOD_URI, mServer);
+        setCaching(METHOD_URI, mServer);
+        handleCachedRequestMessage(buildRequestMessage(RESPONSE_URI, METHOD_URI));
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(buildRequestMessage(RESPONSE_URI, METHOD_URI), mClient));
+        final String output = dump("-s", stringify(mServer.getEntity()));
+        assertTrue(output.contains("cache {hits: 1, misses: 1, hit_ratio: 50%, size: 1}"));
+    }
+
+    @Test
+    public void testDumpLatency() {
+        registerServer(METHOD_URI, mServer);
+        final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI);
+        assertStatus(UCode.OK, mRpcHandler.handleRequestMessage(requestMessage, mClient));
+        assertStatus(UCode.OK, mRpcHandler.handleResponseMessage(buildResponseMessage(requestMessage), mServer));
+        final String output = dump("-s", stringify(mServer.getEntity()));
+        assertTrue(output.contains("Latency: " + stringify(METHOD_URI)));
+        assertTrue(output.contains("queueing: 1 p50 "));
+        assertTrue(output.contains("dispatch: 1 p50 "));
+        assertTrue(output.contains("processing: 1 p50 "));
+        assertTrue(output.contains("delivery: 1 p50 "));
+    }
+
+    @Test
+    public void testDumpMethodPolicy() {
+        registerServer(METHOD_URI, mServer);
+        setCoalescing(METHOD_URI, mServer);
+        final String output = dump("-s", stringify(mServer.getEntity()));
+        assertTrue(output.contains(stringify(METHOD_URI) + " {coalescing: true}"));
+    }
+
     @Test
     public void testDumpServers() {
         registerNewServer(METHOD_URI);
@@ -445,4 +1194,41 @@ public class RpcHandlerTest extends TestBase {
         final String output = dump("-t");
         assertFalse(output.contains(stringify(METHOD_URI)));
     }
+
+    @Test
+    @SuppressWarnings("BlockingMethodInNonBlockingContext")
+    public void testBenchmarkConcurrentCallers() throws Exception {
+        assumeBenchmarkEnabled();
+        setLogLevel(Log.INFO);
+        registerServer(METHOD_URI, mServer);
+        doAnswer(invocation -> {
+            sleep(1); // Binder transaction
+            return true;
+        }).when(mDispatcher).dispatchTo(any(UMessage.class), any(Client.class));
+        for (int callers : new int[] { 1, 4, 16 }) {
+            final ExecutorService executor = Executors.newFixedThreadPool(callers);
+            final CountDownLatch latch = new CountDownLatch(callers);
+            final AtomicInteger completed = new AtomicInteger();
+            final long startTime = System.nanoTime();
+            for (int i = 0; i < callers; i++) {
+                executor.execute(() -> {
+                    for (int j = 0; j < BENCHMARK_REQUESTS_PER_CALLER; j++) {
+                        final UMessage requestMessage = buildRequestMessage(RESPONSE_URI, METHOD_URI, 5000);
+                        if (mRpcHandler.handleRequestMessage(requestMessage, mClient).getCode() == UCode.OK &&
+                                mRpcHandler.handleResponseMessage(buildResponseMessage(requestMessage), mServer)
+                                        .getCode() == UCode.OK) {
+                            completed.incrementAndGet();
+                        }
+                    }
+                    latch.countDown();
+                });
+            }
+            assertTrue(latch.await(callers * BENCHMARK_REQUESTS_PER_CALLER * 10L, TimeUnit.MILLISECONDS));
+            final long elapsedTime = System.nanoTime() - startTime;
+            executor.shutdown();
+            assertEquals(callers * BENCHMARK_REQUESTS_PER_CALLER, completed.get());
+            System.out.println(String.format(Locale.US, "%2d concurrent caller(s): %,8d calls/s", callers,
+                    completed.get() * TimeUnit.SECONDS.toNanos(1) / elapsedTime));
+        }
+    }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.ubus;
+
+import static org.eclipse.uprotocol.core.ubus.UBus.FLAG_SERVER_POOL;
+import static org.eclipse.uprotocol.core.ubus.UBus.FLAG_SERVER_POOL_ROUND_ROBIN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import android.os.Binder;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.eclipse.uprotocol.core.TestBase;
+import org.eclipse.uprotocol.core.ubus.ServerPool.Policy;
+import org.eclipse.uprotocol.core.ubus.client.Client;
+import org.eclipse.uprotocol.core.ubus.client.Credentials;
+import org.eclipse.uprotocol.core.ubus.client.InternalClient;
+import org.eclipse.uprotocol.transport.UListener;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+import java.util.Set;
+
+@RunWith(AndroidJUnit4.class)
+public class ServerPoolTest extends TestBase {
+    private Client mServer1;
+    private Client mServer2;
+
+    @Before
+    public void setUp() {
+        mServer1 = newServer();
+        mServer2 = newServer();
+    }
+
+    private static Client newServer() {
+        final Credentials credentials = new Credentials(PACKAGE_NAME, 0, 0, SERVER_URI);
+        return new InternalClient(credentials, new Binder(), mock(UListener.class));
+    }
+
+    private ServerPool newPool(Policy policy) {
+        final ServerPool pool = new ServerPool(policy);
+        pool.add(mServer1);
+        pool.add(mServer2);
+        return pool;
+    }
+
+    @Test
+    public void testGetPolicy() {
+        assertEquals(Policy.SINGLE, ServerPool.getPolicy(0));
+        assertEquals(Policy.LEAST_OUTSTANDING, ServerPool.getPolicy(FLAG_SERVER_POOL));
+        assertEquals(Policy.ROUND_ROBIN, ServerPool.getPolicy(FLAG_SERVER_POOL_ROUND_ROBIN));
+        assertEquals(Policy.ROUND_ROBIN, ServerPool.getPolicy(FLAG_SERVER_POOL | FLAG_SERVER_POOL_ROUND_ROBIN));
+    }
+
+    @Test
+    public void testIsPooled() {
+        assertFalse(new ServerPool(Policy.SINGLE).isPooled());
+        assertTrue(new ServerPool(Policy.LEAST_OUTSTANDING).isPooled());
+        assertTrue(new ServerPool(Policy.ROUND_ROBIN).isPooled());
+    }
+
+    @Test
+    public void testAddRemove() {
+        final ServerPool pool = new ServerPool(Policy.LEAST_OUTSTANDING);
+        assertTrue(pool.isEmpty());
+        pool.add(mServer1);
+        assertTrue(pool.contains(mServer1));
+        assertFalse(pool.contains(mServer2));
+        assertEquals(1, pool.size());
+        assertTrue(pool.remove(mServer1));
+        assertFalse(pool.remove(mServer1));
+        assertTrue(pool.isEmpty());
+    }
+
+    @Test
+    public void testRemoveReleased() {
+        final ServerPool pool = newPool(Policy.LEAST_OUTSTANDING);
+        mServer1.release();
+        pool.removeReleased();
+        assertEquals(1, pool.size());
+        assertTrue(pool.contains(mServer2));
+    }
+
+    @Test
+    public void testSelectLeastOutstanding() {
+        final ServerPool pool = newPool(Policy.LEAST_OUTSTANDING);
+        final Map<Client, Integer> load = Map.of(mServer1, 2, mServer2, 1);
+        assertEquals(mServer2, pool.select(load::get, Set.of()));
+        assertEquals(mServer1, pool.select(load::get, Set.of(mServer2)));
+        assertNull(pool.select(load::get, Set.of(mServer1, mServer2)));
+    }
+
+    @Test
+    public void testSelectRoundRobin() {
+        final ServerPool pool = newPool(Policy.ROUND_ROBIN);
+        final Client first = pool.select(server -> 0, Set.of());
+        final Client second = pool.select(server -> 0, Set.of());
+        assertEquals(Set.of(mServer1, mServer2), Set.of(first, second));
+        assertEquals(first, pool.select(server -> 0, Set.of()));
+        assertEquals(mServer1, pool.select(server -> 0, Set.of(mServer2)));
+    }
+
+    @Test
+    public void testSelectSkipReleased() {
+        final ServerPool pool = newPool(Policy.ROUND_ROBIN);
+        mServer2.release();
+        assertEquals(mServer1, pool.select(server -> 0, Set.of()));
+        assertEquals(mServer1, pool.select(server -> 0, Set.of()));
+        mServer1.release();
+        assertNull(pool.select(server -> 0, Set.of()));
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("round_robin, 2 member(s)", newPool(Policy.ROUND_ROBIN).toString());
+    }
+}
@@ -44,6 +44,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 @RunWith(AndroidJUnit4.class)
@@ -244,4 +246,25 @@ public class SubscriptionCacheTest extends TestBase {
         assertFalse(mSubscriptionCache.isEmpty());
         clear();
     }
+
+    @Test
+    public void testChangeListener() {
+        final List<UUri> changedTopics = new ArrayList<>();
+        mSubscriptionCache.setChangeListener(changedTopics::add);
+        assertTrue(mSubscriptionCache.addSubscriber(RESOURCE_URI, CLIENT_URI));
+        assertFalse(mSubscriptionCache.addSubscriber(RESOURCE_URI, CLIENT_URI));
+        assertTrue(mSubscriptionCache.removeSubscriber(RESOURCE_URI, CLIENT_URI));
+        assertFalse(mSubscriptionCache.removeSubscriber(RESOURCE_URI, CLIENT_URI));
+        assertEquals(List.of(RESOURCE_URI, RESOURCE_URI), changedTopics);
+
+        changedTopics.clear();
+        assertTrue(mSubscriptionCache.addSubscriber(RESOURCE2_URI, CLIENT_URI));
+        mSubscriptionCache.removeTopic(RESOURCE2_URI);
+        assertEquals(List.of(RESOURCE2_URI, RESOURCE2_URI), changedTopics);
+
+        changedTopics.clear();
+        assertTrue(mSubscriptionCache.addSubscriber(RESOURCE_URI, CLIENT_URI));
+        mSubscriptionCache.clear();
+        assertEquals(List.of(RESOURCE_URI, RESOURCE_URI), changedTopics);
+    }
 }
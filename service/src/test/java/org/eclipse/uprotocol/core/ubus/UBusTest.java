@@ -104,6 +104,7 @@ public class UBusTest extends TestBase {
             assertEquals(mClientManager, components.getClientManager());
             assertNotNull(components.getHandler());
             assertEquals(mDispatcher, components.getDispatcher());
+            assertEquals(mUBus.getTimer(), components.getTimer());
             return true;
         })));
         verify(mClientManager, times(1)).registerClient(any(), eq(UBus.ENTITY), any(), any());
@@ -119,6 +120,7 @@ public class UBusTest extends TestBase {
     public void testShutdown() {
         mUBus.shutdown();
         mUBus.getComponents().forEach(component -> verify(component, times(1)).shutdown());
+        assertTrue(mUBus.getTimer().isStopped());
     }
 
     @Test
@@ -134,6 +136,12 @@ public class UBusTest extends TestBase {
         assertTrue(components.contains(mDispatcher));
     }
 
+    @Test
+    public void testGetTimer() {
+        assertNotNull(mUBus.getTimer());
+        assertFalse(mUBus.getTimer().isStopped());
+    }
+
     @Test
     public void testGetDeviceAuthority() {
         assertEquals(UAuthority.getDefaultInstance(), mUBus.getDeviceAuthority());
@@ -249,6 +257,20 @@ public class UBusTest extends TestBase {
         assertEquals(status, mUBus.enableDispatching(RESOURCE_URI, 0, mClientToken));
     }
 
+    @Test
+    public void testSetMethodPolicyNotRegisteredClient() {
+        final UStatus status = buildStatus(UCode.UNAUTHENTICATED);
+        when(mClientManager.getClientOrThrow(mClientToken)).thenThrow(new UStatusException(status));
+        assertEquals(status, mUBus.setMethodPolicy(METHOD_URI, MethodPolicy.DEFAULT, mClientToken));
+    }
+
+    @Test
+    public void testSetMethodPolicy() {
+        final UStatus status = STATUS_OK;
+        when(mDispatcher.setMethodPolicy(METHOD_URI, MethodPolicy.DEFAULT, mClient)).thenReturn(status);
+        assertEquals(status, mUBus.setMethodPolicy(METHOD_URI, MethodPolicy.DEFAULT, mClientToken));
+    }
+
     @Test
     public void testDisableDispatchingNotRegisteredClient() {
         final UStatus status = buildStatus(UCode.UNAUTHENTICATED);
@@ -284,6 +306,7 @@ public class UBusTest extends TestBase {
         final PrintWriter writer = new PrintWriter(new StringWriter());
         final String[] args = {};
         mUBus.dump(writer, args);
+        verify(mClientManager, times(1)).dump(writer, args);
         verify(mDispatcher, times(1)).dump(writer, args);
     }
 
@@ -23,14 +23,21 @@
  */
 package org.eclipse.uprotocol.core.ubus.client;
 
+import static org.eclipse.uprotocol.core.ubus.UBus.TRANSACTION_ON_RECEIVE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import android.os.Binder;
+import android.os.IBinder;
 import android.os.IBinder.DeathRecipient;
 import android.os.RemoteException;
 
@@ -80,4 +87,42 @@ public class BindingClientTest extends TestBase {
         mClient.send(message);
         verify(mListener, times(1)).onReceive(new ParcelableUMessage(message));
     }
+
+    @Test
+    public void testSendSerializedMessageLocal() throws RemoteException {
+        final SerializedMessage message = new SerializedMessage(buildPublishMessage());
+        mClient.send(message);
+        verify(mListener, times(1)).onReceive(message.getParcelable());
+        assertEquals(0, message.getSerializationCount());
+    }
+
+    @Test
+    public void testSendSerializedMessageRemote() throws RemoteException {
+        final IBinder binder = mock(IBinder.class);
+        final IUListener listener = mock(IUListener.class);
+        when(listener.asBinder()).thenReturn(binder);
+        when(binder.transact(eq(TRANSACTION_ON_RECEIVE), any(), isNull(), eq(IBinder.FLAG_ONEWAY)))
+                .thenReturn(true);
+        final Client client = BindingClient.newClient(mCredentials, new Binder(), mDeathRecipient, listener);
+        final SerializedMessage message = new SerializedMessage(buildPublishMessage());
+        client.send(message);
+        verify(binder, times(1)).transact(eq(TRANSACTION_ON_RECEIVE), any(), isNull(), eq(IBinder.FLAG_ONEWAY));
+        verify(listener, never()).onReceive(any());
+        assertEquals(1, message.getSerializationCount());
+    }
+
+    @Test
+    public void testSendSerializedMessageFanOut() throws RemoteException {
+        final int count = 10;
+        final SerializedMessage message = new SerializedMessage(buildPublishMessage());
+        final IBinder binder = mock(IBinder.class);
+        for (int i = 0; i < count; i++) {
+            final IUListener listener = mock(IUListener.class);
+            when(listener.asBinder()).thenReturn(binder);
+            BindingClient.newClient(mCredentials, new Binder(), mDeathRecipient, listener).send(message);
+        }
+        verify(binder, times(count)).transact(eq(TRANSACTION_ON_RECEIVE), any(), isNull(), eq(IBinder.FLAG_ONEWAY));
+        // Serialized once per publish instead of once per recipient
+        assertEquals(1, message.getSerializationCount());
+    }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.ubus.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.eclipse.uprotocol.core.TestBase;
+import org.eclipse.uprotocol.core.ubus.client.ClientHealth.Policy;
+import org.eclipse.uprotocol.core.ubus.client.ClientHealth.State;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+@RunWith(AndroidJUnit4.class)
+public class ClientHealthTest extends TestBase {
+    private static final long SLOW_SEND_MS = 10;
+    private static final long OPEN_MS = 1000;
+    private static final Policy POLICY = new Policy(SLOW_SEND_MS, 50, 3, OPEN_MS, 2);
+    private static final long FAST_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(SLOW_SEND_MS * 10);
+
+    private long mTime = 0;
+    private final ClientHealth mHealth = new ClientHealth(() -> mTime);
+
+    @Test
+    public void testInitialState() {
+        assertEquals(State.HEALTHY, mHealth.getState());
+        assertEquals("", mHealth.getReason());
+        assertFalse(mHealth.isDegraded());
+        assertTrue(mHealth.allowSend(POLICY));
+    }
+
+    @Test
+    public void testHealthy() {
+        for (int i = 0; i < 10; i++) {
+            assertFalse(mHealth.onSendSucceeded(FAST_NANOS, POLICY));
+        }
+        assertEquals(State.HEALTHY, mHealth.getState());
+    }
+
+    @Test
+    public void testDegradedBySlowSend() {
+        assertFalse(mHealth.onSendSucceeded(SLOW_NANOS, POLICY));
+        assertTrue(mHealth.onSendSucceeded(SLOW_NANOS, POLICY));
+        assertEquals(State.DEGRADED, mHealth.getState());
+        assertTrue(mHealth.getReason().startsWith("Slow send"));
+        assertTrue(mHealth.isDegraded());
+        assertTrue(mHealth.allowSend(POLICY));
+    }
+
+    @Test
+    public void testDegradedByFailureRate() {
+        assertFalse(mHealth.onSendSucceeded(FAST_NANOS, POLICY));
+        for (int i = 0; i < 2; i++) {
+            assertFalse(mHealth.onSendFailed(POLICY));
+            assertFalse(mHealth.onSendSucceeded(FAST_NANOS, POLICY));
+        }
+        assertEquals(State.HEALTHY, mHealth.getState());
+        mHealth.onSendFailed(POLICY);
+        mHealth.onSendFailed(POLICY);
+        assertEquals(State.DEGRADED, mHealth.getState());
+        assertTrue(mHealth.getReason().startsWith("Failure rate"));
+    }
+
+    @Test
+    public void testRecovered() {
+        testDegradedBySlowSend();
+        int count = 0;
+        while (mHealth.isDegraded() && count++ < 100) {
+            mHealth.onSendSucceeded(FAST_NANOS, POLICY);
+        }
+        assertEquals(State.HEALTHY, mHealth.getState());
+        assertEquals("Recovered", mHealth.getReason());
+    }
+
+    @Test
+    public void testCircuitOpen() {
+        assertFalse(mHealth.onSendFailed(POLICY));
+        assertFalse(mHealth.onSendFailed(POLICY));
+        assertTrue(mHealth.onSendFailed(POLICY));
+        assertEquals(State.OPEN, mHealth.getState());
+        assertEquals("3 consecutive failures", mHealth.getReason());
+        assertFalse(mHealth.allowSend(POLICY));
+        assertTrue(mHealth.toString().contains("rejected: 1"));
+    }
+
+    @Test
+    public void testCircuitProbeFailed() {
+        testCircuitOpen();
+        mTime += TimeUnit.MILLISECONDS.toNanos(OPEN_MS);
+        assertTrue(mHealth.allowSend(POLICY));
+        assertFalse(mHealth.allowSend(POLICY)); // Single probe only
+        assertFalse(mHealth.onSendFailed(POLICY));
+        assertEquals(State.OPEN, mHealth.getState());
+        assertFalse(mHealth.allowSend(POLICY));
+        mTime += TimeUnit.MILLISECONDS.toNanos(OPEN_MS);
+        assertTrue(mHealth.allowSend(POLICY));
+    }
+
+    @Test
+    public void testCircuitProbeSucceeded() {
+        testCircuitOpen();
+        mTime += TimeUnit.MILLISECONDS.toNanos(OPEN_MS);
+        assertTrue(mHealth.allowSend(POLICY));
+        assertTrue(mHealth.onSendSucceeded(FAST_NANOS, POLICY));
+        assertEquals(State.DEGRADED, mHealth.getState());
+        assertEquals("Probe succeeded", mHealth.getReason());
+        assertTrue(mHealth.allowSend(POLICY));
+    }
+
+    @Test
+    public void testToString() {
+        mHealth.onSendFailed(POLICY);
+        final String output = mHealth.toString();
+        assertTrue(output.contains("state: HEALTHY"));
+        assertTrue(output.contains("failures: 1"));
+        assertTrue(output.contains("rejected: 0"));
+    }
+}
@@ -35,12 +35,15 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import android.content.ComponentName;
 import android.content.Context;
+import android.content.Intent;
 import android.content.pm.PackageInfo;
+import android.net.Uri;
 import android.os.Binder;
 import android.os.IBinder;
 
@@ -64,11 +67,26 @@ import org.robolectric.Shadows;
 import org.robolectric.shadows.ShadowBinder;
 import org.robolectric.shadows.ShadowPackageManager;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 @RunWith(AndroidJUnit4.class)
 public class ClientManagerTest extends TestBase {
     private static final UEntity REMOTE_CLIENT = buildEntity(REMOTE_CLIENT_NAME, 1);
+    private static final int LOOKUP_ITERATIONS = 10000;
+    private static final int BENCHMARK_ITERATIONS = 100000;
+    private static final int BENCHMARK_CLIENTS = 100;
     private static final Random sRandom = new Random();
 
     private final IBinder mClientToken = spy(Binder.class);
@@ -182,6 +200,24 @@ public class ClientManagerTest extends TestBase {
         verify(mClientRegistrationListener, times(1)).onClientRegistered(client);
     }
 
+    @Test
+    public void testDump() {
+        simulateRemoteCall(buildPackageInfoApp(PACKAGE_NAME, mEntity));
+        assertStatus(UCode.OK, mClientManager.registerClient(PACKAGE_NAME, mEntity, mClientToken, mListener));
+        final StringWriter out = new StringWriter();
+        mClientManager.dump(new PrintWriter(out), new String[0]);
+        final String output = out.toString();
+        assertTrue(output.contains("Client health:"));
+        assertTrue(output.contains(mClientManager.getClient(mClientToken) + ": {state: HEALTHY"));
+    }
+
+    @Test
+    public void testDumpWithArgs() {
+        final StringWriter out = new StringWriter();
+        mClientManager.dump(new PrintWriter(out), new String[] { "-t" });
+        assertTrue(out.toString().isEmpty());
+    }
+
     @Test
     public void testRegisterClientService() {
         simulateRemoteCall(buildPackageInfoService(PACKAGE_NAME, mEntity));
@@ -215,6 +251,81 @@ public class ClientManagerTest extends TestBase {
         assertStatus(UCode.OK, mClientManager.registerClient(PACKAGE_NAME, mEntity, mClientToken, mListener));
     }
 
+    @Test
+    public void testInitRegistersPackageReceiver() {
+        assertTrue(isPackageReceiverRegistered());
+        mClientManager.shutdown();
+        assertFalse(isPackageReceiverRegistered());
+    }
+
+    private boolean isPackageReceiverRegistered() {
+        return Shadows.shadowOf(RuntimeEnvironment.getApplication()).getRegisteredReceivers().stream()
+                .anyMatch(wrapper -> wrapper.broadcastReceiver == mClientManager.getPackageReceiver());
+    }
+
+    private Credentials registerVerifiedClient(IBinder clientToken) {
+        simulateRemoteCall(100, 100, buildPackageInfoApp(PACKAGE_NAME, mEntity));
+        assertStatus(UCode.OK, mClientManager.registerClient(PACKAGE_NAME, mEntity, clientToken, mListener));
+        final Credentials credentials = mClientManager.getClient(clientToken).getCredentials();
+        assertTrue(mClientManager.isVerified(credentials));
+        mShadowPackageManager.removePackage(PACKAGE_NAME);
+        return credentials;
+    }
+
+    private void sendPackageBroadcast(String action, String packageName) {
+        mClientManager.getPackageReceiver().onReceive(RuntimeEnvironment.getApplication(),
+                new Intent(action, Uri.fromParts("package", packageName, null)));
+    }
+
+    @Test
+    public void testRegisterClientCachedCredentials() {
+        registerVerifiedClient(mClientToken);
+        assertStatus(UCode.OK, mClientManager.registerClient(PACKAGE_NAME, mEntity, new Binder(), mListener));
+    }
+
+    @Test
+    public void testRegisterClientCachedCredentialsDifferentEntity() {
+        registerVerifiedClient(mClientToken);
+        assertStatus(UCode.UNAUTHENTICATED,
+                mClientManager.registerClient(PACKAGE_NAME, CLIENT2, new Binder(), mListener));
+    }
+
+    @Test
+    public void testRegisterClientCachedCredentialsInvalidated() {
+        for (String action : new String[] {
+                Intent.ACTION_PACKAGE_ADDED, Intent.ACTION_PACKAGE_REPLACED, Intent.ACTION_PACKAGE_REMOVED }) {
+            final IBinder clientToken = new Binder();
+            final Credentials credentials = registerVerifiedClient(clientToken);
+            sendPackageBroadcast(action, PACKAGE_NAME);
+            assertFalse(mClientManager.isVerified(credentials));
+            assertStatus(UCode.UNAUTHENTICATED,
+                    mClientManager.registerClient(PACKAGE_NAME, mEntity, new Binder(), mListener));
+            assertStatus(UCode.OK, mClientManager.unregisterClient(clientToken));
+        }
+    }
+
+    @Test
+    public void testRegisterClientCachedCredentialsOtherPackageChanged() {
+        final Credentials credentials = registerVerifiedClient(mClientToken);
+        sendPackageBroadcast(Intent.ACTION_PACKAGE_REMOVED, "other.package");
+        assertTrue(mClientManager.isVerified(credentials));
+    }
+
+    @Test
+    public void testPackageBroadcastWithoutData() {
+        final Credentials credentials = registerVerifiedClient(mClientToken);
+        mClientManager.getPackageReceiver().onReceive(RuntimeEnvironment.getApplication(),
+                new Intent(Intent.ACTION_PACKAGE_REMOVED));
+        assertTrue(mClientManager.isVerified(credentials));
+    }
+
+    @Test
+    public void testClearCache() {
+        final Credentials credentials = registerVerifiedClient(mClientToken);
+        mClientManager.clearCache();
+        assertFalse(mClientManager.isVerified(credentials));
+    }
+
     @Test
     public void testRegisterClientSameDifferentListener() {
         testRegisterClientService();
@@ -277,7 +388,7 @@ public class ClientManagerTest extends TestBase {
         final Client client = mClientManager.getClient(mClientToken);
         assertNotNull(client);
         assertStatus(UCode.OK, mClientManager.unregisterClient(mClientToken));
-        verify(mClientRegistrationListener, times(1)).onClientUnregistered(client);
+        verify(mClientRegistrationListener, timeout(DELAY_MS).times(1)).onClientUnregistered(client);
     }
 
     @Test
@@ -286,9 +397,65 @@ public class ClientManagerTest extends TestBase {
         final Client client = mClientManager.getClient(mClientToken);
         assertNotNull(client);
         assertStatus(UCode.OK, mClientManager.unregisterClient(mClientToken));
+        verify(mClientRegistrationListener, timeout(DELAY_MS).times(1)).onClientUnregistered(client);
+    }
+
+    @Test
+    public void testAwaitCleanup() {
+        testRegisterClientInternal();
+        final Client client = mClientManager.getClient(mClientToken);
+        assertNotNull(client);
+        assertStatus(UCode.OK, mClientManager.unregisterClient(mClientToken));
+        assertTrue(mClientManager.awaitCleanup(DELAY_LONG_MS, TimeUnit.MILLISECONDS));
+        assertEquals(0, mClientManager.getPendingCleanupCount());
         verify(mClientRegistrationListener, times(1)).onClientUnregistered(client);
     }
 
+    @Test
+    public void testAwaitCleanupAfterShutdown() {
+        mClientManager.shutdown();
+        assertFalse(mClientManager.awaitCleanup(DELAY_LONG_MS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testUnregisterClientReleasedImmediately() {
+        testRegisterClientInternal();
+        final Client client = mClientManager.getClient(mClientToken);
+        assertStatus(UCode.OK, mClientManager.unregisterClient(mClientToken));
+        assertTrue(client.isReleased());
+        assertNull(mClientManager.getClient(mClientToken));
+    }
+
+    @Test
+    public void testUnregisterClientBatchedCleanup() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final RegistrationListener listener = spy(new RegistrationListener() {
+            @Override
+            public void onClientUnregistered(@NonNull Client client) {
+                started.countDown();
+                try {
+                    blocker.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        mClientManager.registerListener(listener);
+        final IBinder[] tokens = { new Binder(), new Binder(), new Binder() };
+        for (IBinder token : tokens) {
+            assertStatus(UCode.OK, mClientManager.registerClient(PACKAGE_NAME, mEntity, token, mock(UListener.class)));
+        }
+        assertStatus(UCode.OK, mClientManager.unregisterClient(tokens[0]));
+        assertTrue(started.await(DELAY_MS, TimeUnit.MILLISECONDS));
+        assertStatus(UCode.OK, mClientManager.unregisterClient(tokens[1]));
+        assertStatus(UCode.OK, mClientManager.unregisterClient(tokens[2]));
+        assertEquals(2, mClientManager.getPendingCleanupCount());
+        blocker.countDown();
+        verify(listener, timeout(DELAY_MS).times(3)).onClientUnregistered(any());
+        assertEquals(0, mClientManager.getPendingCleanupCount());
+    }
+
     @Test
     public void testUnregisterClientNotRegistered() {
         testRegisterListener();
@@ -345,7 +512,7 @@ public class ClientManagerTest extends TestBase {
         assertNotNull(client);
         client.getDeathRecipient().binderDied();
         assertNull(mClientManager.getClient(mClientToken));
-        verify(mClientRegistrationListener, times(1)).onClientUnregistered(client);
+        verify(mClientRegistrationListener, timeout(DELAY_MS).times(1)).onClientUnregistered(client);
     }
 
     @Test
@@ -392,6 +559,96 @@ public class ClientManagerTest extends TestBase {
         assertThrowsStatusException(UCode.UNAUTHENTICATED, () -> mClientManager.getClientOrThrow(null));
     }
 
+    @Test
+    public void testGetClientConcurrentWithRegistration() throws Exception {
+        final ClientManager clientManager = new ClientManager(RuntimeEnvironment.getApplication());
+        final UListener listener = mock(UListener.class);
+        assertStatus(UCode.OK, clientManager.registerClient(PACKAGE_NAME, mEntity, mClientToken, listener));
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Future<?> writer = executor.submit(() -> {
+                while (running.get()) {
+                    final IBinder token = new Binder();
+                    assertStatus(UCode.OK, clientManager.registerClient(PACKAGE_NAME, CLIENT2, token, listener));
+                    assertStatus(UCode.OK, clientManager.unregisterClient(token));
+                }
+            });
+            final CountDownLatch latch = new CountDownLatch(3);
+            for (int i = 0; i < 3; i++) {
+                executor.execute(() -> {
+                    for (int j = 0; j < LOOKUP_ITERATIONS; j++) {
+                        assertEquals(mEntity, clientManager.getClientOrThrow(mClientToken).getEntity());
+                        assertFalse(clientManager.getClients().isEmpty());
+                    }
+                    latch.countDown();
+                });
+            }
+            assertTrue(latch.await(DELAY_LONG_MS * 10, TimeUnit.MILLISECONDS));
+            running.set(false);
+            writer.get(DELAY_LONG_MS, TimeUnit.MILLISECONDS);
+        } finally {
+            executor.shutdownNow();
+            clientManager.shutdown();
+        }
+    }
+
+    @Test
+    public void testBenchmarkConcurrentLookup() throws Exception {
+        assumeBenchmarkEnabled();
+        final ClientManager clientManager = new ClientManager(RuntimeEnvironment.getApplication());
+        final IBinder[] tokens = new IBinder[BENCHMARK_CLIENTS];
+        final Map<IBinder, Client> legacyClients = new HashMap<>();
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = new Binder();
+            assertStatus(UCode.OK, clientManager.registerClient(PACKAGE_NAME, buildEntity("test.app" + i, 1),
+                    tokens[i], mock(UListener.class)));
+            legacyClients.put(tokens[i], clientManager.getClient(tokens[i]));
+        }
+        final Object legacyLock = new Object();
+        try {
+            for (int threads : new int[] { 1, 2, 4, 8 }) {
+                final long lockFreeTime = measure(threads, tokens, clientManager::getClientOrThrow);
+                final long legacyTime = measure(threads, tokens, token -> {
+                    synchronized (legacyLock) {
+                        return legacyClients.get(token);
+                    }
+                });
+                System.out.println(String.format(Locale.US, "Lookup from %d thread(s): lock-free %,6d ns/op, " +
+                        "legacy %,6d ns/op", threads, lockFreeTime, legacyTime));
+            }
+        } finally {
+            clientManager.shutdown();
+        }
+    }
+
+    private static long measure(int threads, IBinder[] tokens, Function<IBinder, Client> lookup) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final Runnable task = () -> {
+                for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+                    assertNotNull(lookup.apply(tokens[i % tokens.length]));
+                }
+            };
+            runConcurrently(executor, threads, task); // Warm up
+            final long startTime = System.nanoTime();
+            runConcurrently(executor, threads, task);
+            return (System.nanoTime() - startTime) / ((long) BENCHMARK_ITERATIONS * threads);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void runConcurrently(ExecutorService executor, int threads, Runnable task) throws Exception {
+        final Future<?>[] futures = new Future<?>[threads];
+        for (int i = 0; i < threads; i++) {
+            futures[i] = executor.submit(task);
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
     @Test
     public void testGetRemoteClient() {
         testRegisterClientRemote();
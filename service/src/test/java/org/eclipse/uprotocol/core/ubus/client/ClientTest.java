@@ -27,6 +27,7 @@ import static org.eclipse.uprotocol.core.internal.util.log.FormatterExt.stringif
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -164,6 +165,12 @@ public class ClientTest extends TestBase {
         assertEquals(mDeathRecipient, mClient.getDeathRecipient());
     }
 
+    @Test
+    public void testGetHealth() {
+        assertEquals(ClientHealth.State.HEALTHY, mClient.getHealth().getState());
+        assertSame(mClient.getHealth(), mClient.getHealth());
+    }
+
     @Test
     public void testIsLocal() {
         when(mClient.isRemote()).thenReturn(true);
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2024 General Motors GTO LLC
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * SPDX-FileType: SOURCE
+ * SPDX-FileCopyrightText: 2023 General Motors GTO LLC
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.uprotocol.core.ubus.client;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import android.os.Parcel;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.eclipse.uprotocol.core.TestBase;
+import org.eclipse.uprotocol.v1.UMessage;
+import org.eclipse.uprotocol.v1.internal.ParcelableUMessage;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(AndroidJUnit4.class)
+public class SerializedMessageTest extends TestBase {
+    private final UMessage mMessage = buildPublishMessage();
+    private final SerializedMessage mSerializedMessage = new SerializedMessage(mMessage);
+
+    @Test
+    public void testGetMessage() {
+        assertSame(mMessage, mSerializedMessage.getMessage());
+    }
+
+    @Test
+    public void testGetParcelable() {
+        final ParcelableUMessage parcelable = mSerializedMessage.getParcelable();
+        assertEquals(mMessage, parcelable.getWrapped());
+        assertSame(parcelable, mSerializedMessage.getParcelable());
+        assertEquals(0, mSerializedMessage.getSerializationCount());
+    }
+
+    @Test
+    public void testGetData() {
+        final byte[] data = mSerializedMessage.getData();
+        assertSame(data, mSerializedMessage.getData());
+        assertEquals(1, mSerializedMessage.getSerializationCount());
+
+        final Parcel parcel = Parcel.obtain();
+        try {
+            parcel.unmarshall(data, 0, data.length);
+            parcel.setDataPosition(0);
+            assertEquals(1, parcel.readInt());
+            assertEquals(mMessage, ParcelableUMessage.CREATOR.createFromParcel(parcel).getWrapped());
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    @Test
+    public void testWriteTo() {
+        final Parcel parcel1 = Parcel.obtain();
+        final Parcel parcel2 = Parcel.obtain();
+        try {
+            mSerializedMessage.writeTo(parcel1);
+            mSerializedMessage.writeTo(parcel2);
+            assertArrayEquals(mSerializedMessage.getData(), parcel1.marshall());
+            assertArrayEquals(parcel1.marshall(), parcel2.marshall());
+            assertEquals(1, mSerializedMessage.getSerializationCount());
+        } finally {
+            parcel1.recycle();
+            parcel2.recycle();
+        }
+    }
+}
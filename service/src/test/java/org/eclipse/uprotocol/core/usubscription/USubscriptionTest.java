@@ -38,6 +38,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.atLeastOnce;
@@ -55,6 +56,7 @@ import androidx.test.ext.junit.runners.AndroidJUnit4;
 
 import org.eclipse.uprotocol.core.TestBase;
 import org.eclipse.uprotocol.core.UCore;
+import org.eclipse.uprotocol.core.ubus.MethodPolicy;
 import org.eclipse.uprotocol.core.ubus.UBus;
 import org.eclipse.uprotocol.core.usubscription.v3.FetchSubscribersResponse;
 import org.eclipse.uprotocol.core.usubscription.v3.FetchSubscriptionsResponse;
@@ -105,6 +107,8 @@ public class USubscriptionTest extends SubscriptionTestBase {
         verify(mUBus, times(1)).enableDispatching(eq(DEPRECATE_TOPIC.localUri()), anyInt(), any());
         verify(mUBus, times(1)).enableDispatching(eq(FETCH_SUBSCRIPTIONS.localUri()), anyInt(), any());
         verify(mUBus, times(1)).enableDispatching(eq(FETCH_SUBSCRIBERS.localUri()), anyInt(), any());
+        verify(mUBus, times(1)).setMethodPolicy(eq(FETCH_SUBSCRIBERS.localUri()),
+                argThat(MethodPolicy::isCoalescing), any());
         verify(mUBus, times(1)).enableDispatching(eq(REGISTER_FOR_NOTIFICATIONS.localUri()), anyInt(), any());
         verify(mUBus, times(1)).enableDispatching(eq(UNREGISTER_FOR_NOTIFICATIONS.localUri()), anyInt(), any());
     }
@@ -34,6 +34,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.timeout;
@@ -50,6 +51,7 @@ import com.google.protobuf.Message;
 
 import org.eclipse.uprotocol.core.TestBase;
 import org.eclipse.uprotocol.core.UCore;
+import org.eclipse.uprotocol.core.ubus.MethodPolicy;
 import org.eclipse.uprotocol.core.ubus.UBus;
 import org.eclipse.uprotocol.core.utwin.v2.GetLastMessagesResponse;
 import org.eclipse.uprotocol.core.utwin.v2.MessageResponse;
@@ -125,6 +127,8 @@ public class UTwinTest extends TestBase {
     public void testInit() {
         verify(mUBus, times(1)).registerClient(eq(UTwin.SERVICE), any(), any());
         verify(mUBus, times(1)).enableDispatching(eq(GET_LAST_MESSAGES.localUri()), anyInt(), any());
+        verify(mUBus, times(1)).setMethodPolicy(eq(GET_LAST_MESSAGES.localUri()),
+                argThat(MethodPolicy::isCoalescing), any());
         verify(mUBus, times(1)).enableDispatching(eq(SET_LAST_MESSAGE.localUri()), anyInt(), any());
     }
 